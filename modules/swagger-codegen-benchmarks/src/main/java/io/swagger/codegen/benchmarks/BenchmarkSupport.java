@@ -0,0 +1,85 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Swagger;
+
+import java.io.File;
+
+/**
+ * Settings and helpers shared by the benchmarks.
+ */
+final class BenchmarkSupport {
+    static final long SEED = 42;
+
+    /**
+     * The generator logs every file it writes, which would dominate the measurements.
+     */
+    static final String QUIET_LOGGING = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * @return the folder that generated files are written to: the <code>benchmark.outputDir</code>
+     * system property if set, otherwise <code>/dev/shm</code> (a tmpfs on Linux) if available,
+     * otherwise the temp folder
+     */
+    static File outputBaseDir() {
+        String outputDir = System.getProperty("benchmark.outputDir");
+        if (outputDir != null) {
+            return new File(outputDir);
+        }
+        File shm = new File("/dev/shm");
+        if (shm.isDirectory() && shm.canWrite()) {
+            return shm;
+        }
+        return new File(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Create a synthetic spec that the given generator supports.
+     *
+     * @param language generator name
+     * @param definitions number of definitions
+     * @return the spec
+     */
+    static Swagger spec(String language, int definitions) {
+        // polycube specs are generated from YANG models and never use allOf
+        return new SyntheticSpecGenerator(SEED)
+                .composedModels(!"polycube".equals(language))
+                .generate(definitions);
+    }
+
+    /**
+     * Create a synthetic spec with inline models resolved, as seen by the codegen config.
+     *
+     * @param language generator name
+     * @param definitions number of definitions
+     * @return flattened spec
+     */
+    static Swagger flattenedSpec(String language, int definitions) {
+        Swagger swagger = spec(language, definitions);
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+
+    /**
+     * Create a config for the given language, with its options processed as the generator would.
+     *
+     * @param language generator name
+     * @param swagger the spec
+     * @param outputDir output folder
+     * @return generator input
+     */
+    static ClientOptInput clientOptInput(String language, Swagger swagger, File outputDir) {
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        return new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(config);
+    }
+}
@@ -0,0 +1,73 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link CodegenConfig#fromModel} and {@link CodegenConfig#fromOperation} over all
+ * definitions and operations of a synthetic spec.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkSupport.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class CodegenBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int definitions;
+
+    @Param({"java"})
+    public String language;
+
+    private Swagger swagger;
+    private CodegenConfig config;
+
+    @Setup
+    public void setUp() {
+        swagger = BenchmarkSupport.flattenedSpec(language, definitions);
+        config = BenchmarkSupport.clientOptInput(language, swagger, new File(BenchmarkSupport.outputBaseDir(), "codegen-benchmark")).getConfig();
+        config.processOpts();
+        config.preprocessSwagger(swagger);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        Map<String, Model> allDefinitions = swagger.getDefinitions();
+        for (Map.Entry<String, Model> definition : allDefinitions.entrySet()) {
+            blackhole.consume(config.fromModel(definition.getKey(), definition.getValue(), allDefinitions));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        Map<String, Model> allDefinitions = swagger.getDefinitions();
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                blackhole.consume(config.fromOperation(path.getKey(), operation.getKey().toString().toLowerCase(),
+                        operation.getValue(), allDefinitions, swagger));
+            }
+        }
+    }
+}
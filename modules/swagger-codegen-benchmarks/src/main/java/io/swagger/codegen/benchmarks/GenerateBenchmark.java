@@ -0,0 +1,62 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.DefaultGenerator;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full {@link DefaultGenerator#generate()} run into an empty output folder, by
+ * default on a tmpfs so that disk speed does not dominate (see {@link BenchmarkSupport#outputBaseDir()}).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = BenchmarkSupport.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class GenerateBenchmark {
+
+    @Param({"java", "polycube", "python"})
+    public String language;
+
+    @Param({"100", "1000"})
+    public int definitions;
+
+    private File outputDir;
+    private DefaultGenerator generator;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        outputDir = new File(BenchmarkSupport.outputBaseDir(), "generate-benchmark-" + language);
+        FileUtils.deleteDirectory(outputDir);
+        generator = new DefaultGenerator();
+        generator.opts(BenchmarkSupport.clientOptInput(language, BenchmarkSupport.spec(language, definitions), outputDir));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDir);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return generator.generate();
+    }
+}
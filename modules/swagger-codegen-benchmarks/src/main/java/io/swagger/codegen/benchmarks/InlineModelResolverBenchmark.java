@@ -0,0 +1,47 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link InlineModelResolver#flatten(Swagger)}. The spec is regenerated before every
+ * invocation since flattening modifies it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = BenchmarkSupport.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class InlineModelResolverBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int definitions;
+
+    private Swagger swagger;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        swagger = new SyntheticSpecGenerator(BenchmarkSupport.SEED).generate(definitions);
+    }
+
+    @Benchmark
+    public Swagger flatten() {
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+}
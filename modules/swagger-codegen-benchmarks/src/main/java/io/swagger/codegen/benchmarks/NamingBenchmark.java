@@ -0,0 +1,103 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the naming functions of {@link DefaultCodegen} against their previous implementation
+ * ({@link LegacyNaming}), over the model, property, operation and path names of a synthetic spec.
+ * The names repeat as they do during generation, where the same property or type name is converted
+ * many times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkSupport.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class NamingBenchmark {
+
+    private final DefaultCodegen codegen = new DefaultCodegen();
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        Swagger swagger = new SyntheticSpecGenerator(BenchmarkSupport.SEED).generate(100);
+        List<String> collected = new ArrayList<String>();
+        for (Map.Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+            collected.add(definition.getKey());
+            if (definition.getValue().getProperties() != null) {
+                collected.addAll(definition.getValue().getProperties().keySet());
+            }
+        }
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            collected.add(path.getKey());
+            for (Operation operation : path.getValue().getOperations()) {
+                collected.add(operation.getOperationId());
+                collected.addAll(operation.getTags());
+            }
+        }
+        names = collected.toArray(new String[collected.size()]);
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNaming.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void underscoreLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNaming.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(codegen.sanitizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeNameLegacy(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNaming.sanitizeName(name, false));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Info;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Scheme;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates synthetic specs of a given size, so that large inputs are available without network
+ * access. The output only depends on the seed and the number of definitions.
+ * <p>
+ * Every definition has scalar, enum, array, map and reference properties. Some definitions have
+ * inline objects (half of which share the same structure, as found in real specs), and every tenth
+ * definition is composed with allOf (unless disabled). There is one resource path with CRUD operations, including
+ * inline body and response schemas, per ten definitions.
+ */
+public class SyntheticSpecGenerator {
+    private static final String[] STATUSES = {"available", "pending", "sold", "in-review", "archived"};
+
+    private final long seed;
+    private boolean composedModels = true;
+
+    public SyntheticSpecGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param composedModels whether every tenth definition is composed with allOf, which not all
+     * generators support
+     * @return this generator
+     */
+    public SyntheticSpecGenerator composedModels(boolean composedModels) {
+        this.composedModels = composedModels;
+        return this;
+    }
+
+    /**
+     * Generate a spec.
+     *
+     * @param definitions number of definitions
+     * @return the spec
+     */
+    public Swagger generate(int definitions) {
+        Random random = new Random(seed);
+        Swagger swagger = new Swagger()
+                .info(new Info().title("Synthetic API").version("1.0.0").description("Synthetic spec with " + definitions + " definitions"))
+                .host("localhost:8080")
+                .basePath("/v1")
+                .scheme(Scheme.HTTP);
+
+        for (int i = 0; i < definitions; i++) {
+            swagger.addDefinition(modelName(i), createModel(i, random));
+        }
+        int resources = Math.max(1, definitions / 10);
+        for (int i = 0; i < resources; i++) {
+            addResource(swagger, i, random.nextInt(definitions));
+        }
+        return swagger;
+    }
+
+    private static String modelName(int index) {
+        return "SyntheticModel" + index;
+    }
+
+    private Model createModel(int index, Random random) {
+        ModelImpl model = new ModelImpl().type(ModelImpl.OBJECT);
+        model.setDescription("Synthetic model number " + index);
+        model.property("id", new LongProperty());
+        model.required("id");
+        model.property("display_name", new StringProperty().maxLength(64).pattern("^[A-Za-z0-9 _-]+$"));
+        model.property("createdAt", new DateTimeProperty());
+        model.property("status", new StringProperty()._enum(Arrays.asList(STATUSES)));
+        model.property("score", new DoubleProperty());
+        model.property("is-active", new BooleanProperty());
+        model.property("labels", new ArrayProperty(new StringProperty()));
+        model.property("counters", new MapProperty(new IntegerProperty()));
+        if (index > 0) {
+            model.property("related", new RefProperty(modelName(random.nextInt(index))));
+            model.property("children", new ArrayProperty(new RefProperty(modelName(random.nextInt(index)))));
+        }
+        if (index % 3 == 0) {
+            // half of the inline objects have the same structure, the others are unique
+            ObjectProperty address = new ObjectProperty()
+                    .property("street", new StringProperty())
+                    .property("city", new StringProperty())
+                    .property("zip", new StringProperty());
+            if (index % 2 == 1) {
+                address.property("extra" + index, new IntegerProperty());
+            }
+            model.property("address", address);
+        }
+        if (composedModels && index > 0 && index % 10 == 0) {
+            return new ComposedModel()
+                    .parent(new RefModel(modelName(random.nextInt(index))))
+                    .child(model);
+        }
+        return model;
+    }
+
+    private static void addResource(Swagger swagger, int index, int modelIndex) {
+        String model = modelName(modelIndex);
+        String tag = "resource" + (index % 20);
+        String collection = "/resources" + index;
+
+        Operation list = new Operation()
+                .tag(tag)
+                .operationId("list" + model)
+                .summary("List " + model)
+                .produces("application/json")
+                .parameter(new QueryParameter().name("limit").type("integer").format("int32"))
+                .parameter(new QueryParameter().name("offset").type("integer").format("int32"))
+                .parameter(new QueryParameter().name("filter").type("string"))
+                .response(200, new Response().description("list").schema(new ArrayProperty(new RefProperty(model))));
+        Operation create = new Operation()
+                .tag(tag)
+                .operationId("create" + model)
+                .consumes("application/json")
+                .produces("application/json")
+                .parameter(new BodyParameter().name("body").schema(new RefModel(model)))
+                .response(201, new Response().description("created").schema(new RefProperty(model)));
+        swagger.path(collection, new Path().get(list).post(create));
+
+        Operation get = new Operation()
+                .tag(tag)
+                .operationId("get" + model)
+                .produces("application/json")
+                .parameter(idParameter())
+                .response(200, new Response().description("found").schema(new RefProperty(model)))
+                .response(404, new Response().description("not found"));
+        ModelImpl patch = new ModelImpl().type(ModelImpl.OBJECT);
+        patch.property("status", new StringProperty());
+        patch.property("labels", new ArrayProperty(new StringProperty()));
+        Operation update = new Operation()
+                .tag(tag)
+                .operationId("update" + model)
+                .consumes("application/json")
+                .produces("application/json")
+                .parameter(idParameter())
+                .parameter(new BodyParameter().name("patch").schema(patch))
+                .response(200, new Response().description("updated").schema(new ObjectProperty()
+                        .property("updated", new BooleanProperty())
+                        .property("item", new RefProperty(model))));
+        Operation delete = new Operation()
+                .tag(tag)
+                .operationId("delete" + model)
+                .parameter(idParameter())
+                .response(204, new Response().description("deleted"));
+        swagger.path(collection + "/{id}", new Path().get(get).put(update).delete(delete));
+    }
+
+    private static PathParameter idParameter() {
+        return new PathParameter().name("id").type("integer").format("int64");
+    }
+
+    /**
+     * Write a synthetic spec to a file, e.g. to run the CLI against it.
+     *
+     * @param args number of definitions and output file
+     * @throws IOException if the spec cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SyntheticSpecGenerator <definitions> <output file>");
+            System.exit(1);
+        }
+        Swagger swagger = new SyntheticSpecGenerator(42).generate(Integer.parseInt(args[0]));
+        Json.pretty().writeValue(new File(args[1]), swagger);
+    }
+}
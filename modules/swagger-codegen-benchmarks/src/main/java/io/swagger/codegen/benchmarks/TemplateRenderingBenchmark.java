@@ -0,0 +1,107 @@
+package io.swagger.codegen.benchmarks;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenModel;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering the model template of a generator for every definition of a synthetic spec,
+ * with the template compiled once or compiled for every file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = BenchmarkSupport.QUIET_LOGGING)
+@State(Scope.Benchmark)
+public class TemplateRenderingBenchmark {
+
+    @Param({"100"})
+    public int definitions;
+
+    @Param({"java", "python"})
+    public String language;
+
+    private final DefaultGenerator generator = new DefaultGenerator();
+    private CodegenConfig config;
+    private Mustache.Compiler compiler;
+    private String templateSource;
+    private Template template;
+    private final List<Map<String, Object>> bundles = new ArrayList<Map<String, Object>>();
+
+    @Setup
+    public void setUp() {
+        Swagger swagger = BenchmarkSupport.flattenedSpec(language, definitions);
+        config = BenchmarkSupport.clientOptInput(language, swagger, new File(BenchmarkSupport.outputBaseDir(), "rendering-benchmark")).getConfig();
+        config.processOpts();
+        config.preprocessSwagger(swagger);
+
+        // the same data the generator passes to model templates, see DefaultGenerator#processModels
+        for (Map.Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+            CodegenModel cm = config.fromModel(definition.getKey(), definition.getValue(), swagger.getDefinitions());
+            Map<String, Object> model = new HashMap<String, Object>();
+            model.put("model", cm);
+            model.put("importPath", config.toModelImport(cm.classname));
+            Map<String, Object> bundle = new HashMap<String, Object>();
+            bundle.put("package", config.modelPackage());
+            bundle.put("models", Collections.singletonList(model));
+            bundle.put("imports", new ArrayList<Object>());
+            config.postProcessModels(bundle);
+            bundle.put("classname", cm.classname);
+            bundle.putAll(config.additionalProperties());
+            bundles.add(bundle);
+        }
+
+        compiler = config.processCompiler(Mustache.compiler())
+                .withLoader(new Mustache.TemplateLoader() {
+                    @Override
+                    public Reader getTemplate(String name) {
+                        return new StringReader(generator.readTemplate(generator.getFullTemplateFile(config, name + ".mustache")));
+                    }
+                })
+                .defaultValue("");
+        String templateName = config.modelTemplateFiles().keySet().iterator().next();
+        templateSource = generator.readTemplate(generator.getFullTemplateFile(config, templateName));
+        template = compiler.compile(templateSource);
+    }
+
+    @Benchmark
+    public void renderCompiled(Blackhole blackhole) {
+        for (Map<String, Object> bundle : bundles) {
+            blackhole.consume(template.execute(bundle));
+        }
+    }
+
+    @Benchmark
+    public void compileAndRender(Blackhole blackhole) {
+        for (Map<String, Object> bundle : bundles) {
+            blackhole.consume(compiler.compile(templateSource).execute(bundle));
+        }
+    }
+}
@@ -2,7 +2,10 @@ package io.swagger.codegen;
 
 import io.airlift.airline.Cli;
 import io.airlift.airline.Help;
+import io.swagger.codegen.cmd.Batch;
 import io.swagger.codegen.cmd.ConfigHelp;
+import io.swagger.codegen.cmd.Daemon;
+import io.swagger.codegen.cmd.DaemonStatus;
 import io.swagger.codegen.cmd.Generate;
 import io.swagger.codegen.cmd.Langs;
 import io.swagger.codegen.cmd.Meta;
@@ -32,6 +35,9 @@ public class SwaggerCodegen {
                 .withDefaultCommand(Langs.class)
                 .withCommands(
                         Generate.class,
+                        Batch.class,
+                        Daemon.class,
+                        DaemonStatus.class,
                         Meta.class,
                         Langs.class,
                         Help.class,
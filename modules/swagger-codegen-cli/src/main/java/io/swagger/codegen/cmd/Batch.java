@@ -0,0 +1,210 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationOptions;
+import io.swagger.codegen.TemplateCache;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Runs the generations listed in a manifest in this JVM, so that the generator classes are loaded
+ * and the templates compiled once for all of them.
+ * <p>
+ * The manifest is a JSON (or YAML, by file extension) list of jobs:
+ * <pre>
+ * [
+ *   {"inputSpec": "specs/router.yaml", "lang": "spring", "outputDir": "out/router", "configFile": "spring.json"},
+ *   ...
+ * ]
+ * </pre>
+ * Each job is the same as a <code>generate</code> command with the given options. System properties
+ * (<code>-Dmodels</code>, ...) do not apply to the jobs, use the <code>systemProperties</code> of
+ * the config file instead. These may only be generation options, which apply to their job: other
+ * System properties are JVM-wide, so jobs running at the same time would overwrite each other's
+ * values, and such a job fails.
+ */
+@Command(name = "batch", description = "Generate code for the jobs of a manifest in one run")
+public class Batch implements Runnable {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Batch.class);
+
+    @Option(name = {"-m", "--manifest"}, title = "manifest file", required = true,
+            description = "JSON or YAML file with a list of jobs, each with inputSpec, lang, outputDir and configFile (required)")
+    private String manifest;
+
+    @Option(name = {"--threads"}, title = "batch threads",
+            description = "number of jobs that run at the same time (number of processors by default)")
+    private Integer threads;
+
+    @Override
+    public void run() {
+        List<Job> jobs = readManifest(new File(manifest));
+        int poolSize = Math.max(1, Math.min(jobs.size(),
+                threads != null ? threads : Runtime.getRuntime().availableProcessors()));
+        System.out.printf("Running %d jobs on %d threads%n", jobs.size(), poolSize);
+
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            for (final Job job : jobs) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return job.generate();
+                    }
+                }));
+            }
+
+            int failed = 0;
+            for (int i = 0; i < jobs.size(); i++) {
+                Job job = jobs.get(i);
+                try {
+                    int files = results.get(i).get();
+                    System.out.printf("  OK      %s (%d ms, %d files)%n", job, job.timeMillis, files);
+                } catch (ExecutionException e) {
+                    failed++;
+                    LOG.error("Job " + job + " failed", e.getCause());
+                    System.out.printf("  FAILED  %s (%d ms): %s%n", job, job.timeMillis, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for job " + job, e);
+                }
+            }
+
+            TemplateCache templates = TemplateCache.getShared();
+            System.out.printf("%d jobs, %d failed in %d ms (templates: %d loaded, %d reused)%n", jobs.size(), failed,
+                    (System.nanoTime() - start) / 1000000, templates.getMissCount(), templates.getHitCount());
+            if (failed > 0) {
+                throw new RuntimeException(failed + " of " + jobs.size() + " jobs failed");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static List<Job> readManifest(File file) {
+        String name = file.getName().toLowerCase();
+        ObjectMapper mapper = name.endsWith(".yaml") || name.endsWith(".yml") ? Yaml.mapper() : Json.mapper();
+        List<Job> jobs;
+        try {
+            jobs = mapper.readValue(file, new TypeReference<List<Job>>() {
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read manifest " + file, e);
+        }
+        if (jobs == null || jobs.isEmpty()) {
+            throw new RuntimeException("No jobs in manifest " + file);
+        }
+        return jobs;
+    }
+
+    /**
+     * A generation of the manifest.
+     */
+    public static class Job {
+        private String inputSpec;
+        private String lang;
+        private String outputDir;
+        private String configFile;
+        private volatile long timeMillis;
+
+        public String getInputSpec() {
+            return inputSpec;
+        }
+
+        public void setInputSpec(String inputSpec) {
+            this.inputSpec = inputSpec;
+        }
+
+        public String getLang() {
+            return lang;
+        }
+
+        public void setLang(String lang) {
+            this.lang = lang;
+        }
+
+        public String getOutputDir() {
+            return outputDir;
+        }
+
+        public void setOutputDir(String outputDir) {
+            this.outputDir = outputDir;
+        }
+
+        public String getConfigFile() {
+            return configFile;
+        }
+
+        public void setConfigFile(String configFile) {
+            this.configFile = configFile;
+        }
+
+        /**
+         * @return the number of generated files
+         */
+        int generate() {
+            long start = System.nanoTime();
+            try {
+                CodegenConfigurator configurator;
+                if (isNotEmpty(configFile)) {
+                    configurator = CodegenConfigurator.fromFile(configFile);
+                    if (configurator == null) {
+                        throw new RuntimeException("Could not read config file " + configFile);
+                    }
+                } else {
+                    configurator = new CodegenConfigurator();
+                }
+                if (isNotEmpty(inputSpec)) {
+                    configurator.setInputSpec(inputSpec);
+                }
+                if (isNotEmpty(lang)) {
+                    configurator.setLang(lang);
+                }
+                if (isNotEmpty(outputDir)) {
+                    configurator.setOutputDir(outputDir);
+                }
+                // the jobs run at the same time, each with its own options
+                for (String property : configurator.getSystemProperties().keySet()) {
+                    if (!GenerationOptions.isOption(property)) {
+                        throw new RuntimeException("System property " + property
+                                + " is not a generation option and would apply to all jobs, it cannot be set in a batch");
+                    }
+                }
+                configurator.setGenerationOptions(new GenerationOptions(configurator.getGenerationOptions())
+                        .setUseSystemProperties(false));
+                ClientOptInput clientOptInput = configurator.toClientOptInput();
+                return new DefaultGenerator().opts(clientOptInput).generate().size();
+            } finally {
+                timeMillis = (System.nanoTime() - start) / 1000000;
+            }
+        }
+
+        @Override
+        public String toString() {
+            String description = lang + " " + inputSpec + " -> " + outputDir;
+            return isNotEmpty(configFile) ? description + " (" + configFile + ")" : description;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.CodegenConfigRegistry;
+import io.swagger.codegen.SpecCache;
+
+import java.io.IOException;
+
+/**
+ * Keeps a JVM with the generators and templates loaded, for <code>generate --daemon</code>.
+ */
+@Command(name = "daemon", description = "Run a code generation server for generate --daemon on this machine")
+public class Daemon implements Runnable {
+    public static final int DEFAULT_PORT = 7787;
+
+    @Option(name = {"-p", "--port"}, title = "port",
+            description = "loopback port to listen on (" + DEFAULT_PORT + " by default)")
+    private Integer port;
+
+    @Option(name = {"--threads"}, title = "daemon threads",
+            description = "number of generations that run at the same time (number of processors by default)")
+    private Integer threads;
+
+    @Option(name = {"--spec-cache-size"}, title = "spec cache size",
+            description = "number of parsed specs kept in memory (" + SpecCache.DEFAULT_MAX_ENTRIES + " by default)")
+    private Integer specCacheSize;
+
+    @Option(name = {"--stop"}, title = "stop", description = "stop the daemon running on the port")
+    private Boolean stop;
+
+    @Override
+    public void run() {
+        int daemonPort = port != null ? port : DEFAULT_PORT;
+        if (stop != null && stop) {
+            new DaemonClient(daemonPort).stop();
+            System.out.printf("Stopped the daemon on port %d%n", daemonPort);
+            return;
+        }
+
+        DaemonServer server;
+        try {
+            server = new DaemonServer(daemonPort,
+                    threads != null ? threads : Runtime.getRuntime().availableProcessors(),
+                    new SpecCache(specCacheSize != null ? specCacheSize : SpecCache.DEFAULT_MAX_ENTRIES,
+                            SpecCache.DEFAULT_TTL_MILLIS));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not listen on port " + daemonPort, e);
+        }
+        // load the generator index before the first request
+        CodegenConfigRegistry.getInstance();
+        server.start();
+        System.out.printf("Listening on port %d%n", server.getPort());
+        try {
+            server.awaitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        }
+    }
+}
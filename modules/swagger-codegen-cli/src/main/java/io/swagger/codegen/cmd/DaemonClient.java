@@ -0,0 +1,100 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Client of a {@link DaemonServer} running on this machine, which sends the token of the server
+ * with every request.
+ */
+public class DaemonClient {
+    private final int port;
+
+    public DaemonClient(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Run a generation in the daemon.
+     *
+     * @param configurator configuration of the generation, relative paths are resolved here
+     * @return the response, with the number of generated <code>files</code> and the <code>timeMillis</code>
+     */
+    public JsonNode generate(CodegenConfigurator configurator) {
+        // the daemon has its own working directory
+        File spec = new File(configurator.getInputSpec());
+        if (spec.exists()) {
+            configurator.setInputSpec(spec.getAbsolutePath());
+        }
+        if (isNotEmpty(configurator.getTemplateDir())) {
+            configurator.setTemplateDir(new File(configurator.getTemplateDir()).getAbsolutePath());
+        }
+        if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+            configurator.setIgnoreFileOverride(new File(configurator.getIgnoreFileOverride()).getAbsolutePath());
+        }
+        ObjectNode request = Json.mapper().createObjectNode();
+        request.put("command", DaemonServer.GENERATE);
+        request.set("configurator", Json.mapper().valueToTree(configurator));
+        return send(request);
+    }
+
+    public JsonNode status() {
+        return send(command(DaemonServer.STATUS)).get("status");
+    }
+
+    public void stop() {
+        send(command(DaemonServer.STOP));
+    }
+
+    private static ObjectNode command(String command) {
+        ObjectNode request = Json.mapper().createObjectNode();
+        request.put("command", command);
+        return request;
+    }
+
+    private JsonNode send(ObjectNode request) {
+        request.put("token", readToken());
+        JsonNode response;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(Json.mapper().writeValueAsBytes(request));
+            out.write('\n');
+            out.flush();
+            String line = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+            if (line == null) {
+                throw new RuntimeException("No response from the daemon on port " + port);
+            }
+            response = Json.mapper().readTree(line);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not reach the daemon on port " + port + ", start it with the daemon command", e);
+        }
+        if (!response.path("ok").asBoolean()) {
+            throw new RuntimeException("Daemon request failed: " + response.path("error").asText());
+        }
+        return response;
+    }
+
+    private String readToken() {
+        File file = DaemonServer.tokenFile(port);
+        try {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the token of the daemon on port " + port + " from " + file
+                    + ", start it with the daemon command", e);
+        }
+    }
+}
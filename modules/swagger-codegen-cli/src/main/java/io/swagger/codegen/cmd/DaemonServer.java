@@ -0,0 +1,381 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.CodegenConfigRegistry;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationOptions;
+import io.swagger.codegen.SpecCache;
+import io.swagger.codegen.TemplateCache;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server of the <code>daemon</code> command. It listens on a loopback port and runs the requests of
+ * {@link DaemonClient} in this JVM, so that generators, templates and specs stay loaded between
+ * generations.
+ * <p>
+ * The protocol is one request per connection: the client sends a JSON object on one line, with the
+ * <code>command</code> (<code>generate</code>, <code>status</code> or <code>stop</code>) and, to
+ * generate, the <code>configurator</code>. The server answers with a JSON object on one line, with
+ * <code>ok</code> and either the result or the <code>error</code> message.
+ * <p>
+ * Every request has the <code>token</code> that the server writes at start to a file that only its
+ * user can read, {@link #tokenFile(int)}, so that other users of the machine cannot send requests.
+ * The directory of the file is the system property <code>swagger.codegen.daemon.dir</code>, or
+ * <code>.swagger-codegen</code> in the home directory.
+ * <p>
+ * Generations use the configurator sent by the client, which has absolute paths. System properties
+ * of the daemon do not apply to them, and a configurator can only have system properties that are
+ * generation options, since other properties would be set for all the generations of the daemon JVM.
+ * Compiled templates of a template directory are
+ * compiled again when a file of the directory changed, see {@link TemplateCache#revalidate(String)}.
+ */
+public class DaemonServer {
+    public static final String GENERATE = "generate";
+    public static final String STATUS = "status";
+    public static final String STOP = "stop";
+    public static final String DIRECTORY_PROPERTY = "swagger.codegen.daemon.dir";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaemonServer.class);
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final SpecCache specCache;
+    private final Latencies latencies = new Latencies(1000);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final long startTime = System.currentTimeMillis();
+    private final String token;
+    private final File tokenFile;
+    private Thread acceptor;
+
+    /**
+     * @param port port to listen on, 0 for any free port
+     * @param threads maximum number of generations at the same time
+     * @param specCache cache of parsed specs
+     * @throws IOException if the port cannot be opened or the token cannot be written
+     */
+    public DaemonServer(int port, int threads, SpecCache specCache) throws IOException {
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.tokenFile = tokenFile(getPort());
+        try {
+            this.token = newToken();
+            writeToken(tokenFile, token);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.specCache = specCache;
+    }
+
+    /**
+     * @param port port of the daemon
+     * @return the file with the token of the daemon on the port
+     */
+    public static File tokenFile(int port) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isEmpty()) {
+            directory = new File(System.getProperty("user.home"), ".swagger-codegen").getPath();
+        }
+        return new File(directory, "daemon-" + port + ".token");
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public synchronized void start() {
+        acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        }, "swagger-codegen-daemon");
+        acceptor.start();
+    }
+
+    /**
+     * Stop accepting requests. Running generations complete.
+     */
+    public void stop() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the daemon socket", e);
+        }
+        if (tokenFile.exists() && !tokenFile.delete()) {
+            LOGGER.warn("Could not delete " + tokenFile);
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Wait until the server is stopped and running generations complete.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                // closed by stop()
+                break;
+            } catch (IOException e) {
+                LOGGER.error("Could not accept a daemon connection", e);
+                continue;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // rejected after stop()
+                close(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (line == null) {
+                return;
+            }
+            ObjectNode response = handle(line);
+            OutputStream out = socket.getOutputStream();
+            out.write(Json.mapper().writeValueAsBytes(response));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.warn("Could not answer a daemon request", e);
+        } finally {
+            close(socket);
+        }
+    }
+
+    ObjectNode handle(String line) {
+        ObjectNode response = Json.mapper().createObjectNode();
+        try {
+            JsonNode request = Json.mapper().readTree(line);
+            if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                    request.path("token").asText().getBytes(StandardCharsets.UTF_8))) {
+                throw new SecurityException("Invalid daemon token, the client should read it from " + tokenFile);
+            }
+            String command = request.path("command").asText();
+            if (GENERATE.equals(command)) {
+                generate(request.get("configurator"), response);
+            } else if (STATUS.equals(command)) {
+                response.set("status", status());
+            } else if (STOP.equals(command)) {
+                stop();
+            } else {
+                throw new IllegalArgumentException("Unknown daemon command: " + command);
+            }
+            response.put("ok", true);
+        } catch (Exception e) {
+            LOGGER.error("Daemon request failed", e);
+            response.put("ok", false);
+            response.put("error", String.valueOf(e.getMessage() != null ? e.getMessage() : e));
+        }
+        return response;
+    }
+
+    private void generate(JsonNode configuration, ObjectNode response) throws IOException {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Missing configurator");
+        }
+        long start = System.nanoTime();
+        requests.incrementAndGet();
+        active.incrementAndGet();
+        try {
+            DaemonConfigurator configurator = Json.mapper().treeToValue(configuration, DaemonConfigurator.class);
+            configurator.specCache = specCache;
+            for (String property : configurator.getSystemProperties().keySet()) {
+                if (!GenerationOptions.isOption(property)) {
+                    throw new IllegalArgumentException("System property " + property
+                            + " is not a generation option and would apply to all generations, it cannot be set in the daemon");
+                }
+            }
+            configurator.setGenerationOptions(new GenerationOptions(configurator.getGenerationOptions())
+                    .setUseSystemProperties(false));
+            ClientOptInput clientOptInput = configurator.toClientOptInput();
+            response.put("files", new DefaultGenerator().opts(clientOptInput).generate().size());
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            long nanos = System.nanoTime() - start;
+            latencies.add(nanos);
+            response.put("timeMillis", TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    ObjectNode status() {
+        ObjectNode status = Json.mapper().createObjectNode();
+        status.put("uptimeMillis", System.currentTimeMillis() - startTime);
+        status.put("requests", requests.get());
+        status.put("failures", failures.get());
+        status.put("active", active.get());
+        status.set("latency", latencies.toJson());
+
+        TemplateCache templateCache = TemplateCache.getShared();
+        ObjectNode templates = status.putObject("templateCache");
+        templates.put("size", templateCache.size());
+        templates.put("hits", templateCache.getHitCount());
+        templates.put("misses", templateCache.getMissCount());
+
+        ObjectNode specs = status.putObject("specCache");
+        specs.put("size", specCache.size());
+        specs.put("hits", specCache.getHitCount());
+        specs.put("misses", specCache.getMissCount());
+
+        status.put("generators", CodegenConfigRegistry.getInstance().getEntries().size());
+        return status;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        return token.toString();
+    }
+
+    /**
+     * Write the token to a new file that only the user can read.
+     */
+    private static void writeToken(File file, String token) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        // a token of a previous daemon that did not stop
+        Files.deleteIfExists(file.toPath());
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file.toPath(), PosixFilePermissions.asFileAttribute(
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } else {
+            Files.createFile(file.toPath());
+            if (!(file.setReadable(false, false) && file.setReadable(true, true))) {
+                LOGGER.warn("Could not make " + file + " readable only by its owner");
+            }
+        }
+        Files.write(file.toPath(), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Configurator of a daemon request, which reads specs through the cache.
+     */
+    public static class DaemonConfigurator extends CodegenConfigurator {
+        private transient SpecCache specCache;
+
+        @Override
+        protected Swagger readSwagger(String inputSpec, List<AuthorizationValue> authorizationValues) {
+            return specCache != null ? specCache.read(inputSpec, authorizationValues)
+                    : super.readSwagger(inputSpec, authorizationValues);
+        }
+    }
+
+    /**
+     * Times of the last generations.
+     */
+    static class Latencies {
+        private final long[] nanos;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        Latencies(int window) {
+            this.nanos = new long[window];
+        }
+
+        synchronized void add(long value) {
+            nanos[(int) (count % nanos.length)] = value;
+            count++;
+            totalNanos += value;
+            maxNanos = Math.max(maxNanos, value);
+        }
+
+        synchronized ObjectNode toJson() {
+            ObjectNode json = Json.mapper().createObjectNode();
+            json.put("count", count);
+            json.put("meanMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count));
+            json.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+            long[] window = Arrays.copyOf(nanos, (int) Math.min(count, nanos.length));
+            Arrays.sort(window);
+            // percentiles of the last generations only
+            json.put("p50Millis", TimeUnit.NANOSECONDS.toMillis(percentile(window, 50)));
+            json.put("p95Millis", TimeUnit.NANOSECONDS.toMillis(percentile(window, 95)));
+            return json;
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+        }
+    }
+}
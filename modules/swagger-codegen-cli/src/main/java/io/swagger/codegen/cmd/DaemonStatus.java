@@ -0,0 +1,26 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.util.Json;
+
+/**
+ * Prints the cache sizes and the generation times of a running daemon.
+ */
+@Command(name = "daemon-status", description = "Show the status of the daemon running on this machine")
+public class DaemonStatus implements Runnable {
+
+    @Option(name = {"-p", "--port"}, title = "port",
+            description = "loopback port of the daemon (" + Daemon.DEFAULT_PORT + " by default)")
+    private Integer port;
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(Json.pretty(new DaemonClient(port != null ? port : Daemon.DEFAULT_PORT).status()));
+        } catch (RuntimeException e) {
+            System.out.println(e.getMessage());
+            throw e;
+        }
+    }
+}
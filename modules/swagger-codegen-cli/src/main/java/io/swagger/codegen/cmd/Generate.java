@@ -1,5 +1,6 @@
 package io.swagger.codegen.cmd;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 import io.swagger.codegen.ClientOptInput;
@@ -128,6 +129,22 @@ public class Generate implements Runnable {
     @Option(name = {"--remove-operation-id-prefix"}, title = "remove prefix of the operationId", description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--threads"}, title = "generator threads", description = CodegenConstants.GENERATOR_THREADS_DESC)
+    private Integer threads;
+
+    @Option(name = {"--metrics"}, title = "generation metrics", description = CodegenConstants.GENERATION_METRICS_DESC)
+    private Boolean metrics;
+
+    @Option(name = {"--daemon"}, title = "daemon", description = "run the generation in the daemon started with the daemon command")
+    private Boolean daemon;
+
+    @Option(name = {"--daemon-port"}, title = "daemon port", description = "loopback port of the daemon (" + Daemon.DEFAULT_PORT + " by default)")
+    private Integer daemonPort;
+
+    @Option(name = {"--watch"}, title = "watch", description = "generate again when the spec file or a template changes, " +
+            "only the models and apis that depend on the changes of the spec are generated again")
+    private Boolean watch;
+
     @Override
     public void run() {
 
@@ -229,6 +246,14 @@ public class Generate implements Runnable {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (threads != null) {
+            configurator.setGeneratorThreads(threads);
+        }
+
+        if (metrics != null && metrics) {
+            configurator.setGenerationMetrics(true);
+        }
+
         applySystemPropertiesKvp(systemProperties, configurator);
         applyInstantiationTypesKvp(instantiationTypes, configurator);
         applyImportMappingsKvp(importMappings, configurator);
@@ -236,6 +261,21 @@ public class Generate implements Runnable {
         applyAdditionalPropertiesKvp(additionalProperties, configurator);
         applyLanguageSpecificPrimitivesCsv(languageSpecificPrimitives, configurator);
         applyReservedWordsMappingsKvp(reservedWordsMappings, configurator);
+
+        if (watch != null && watch) {
+            if (daemon != null && daemon) {
+                throw new IllegalArgumentException("--watch cannot be used with --daemon");
+            }
+            new GenerateWatcher(configurator).watch();
+            return;
+        }
+
+        if (daemon != null && daemon) {
+            JsonNode result = new DaemonClient(daemonPort != null ? daemonPort : Daemon.DEFAULT_PORT).generate(configurator);
+            LOG.info("Generated {} files in the daemon in {} ms", result.path("files").asInt(), result.path("timeMillis").asLong());
+            return;
+        }
+
         final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
         new DefaultGenerator().opts(clientOptInput).generate();
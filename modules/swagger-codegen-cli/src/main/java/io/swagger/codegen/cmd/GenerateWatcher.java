@@ -0,0 +1,218 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenOperation;
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationOptions;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.codegen.SwaggerDiff;
+import io.swagger.codegen.TemplateCache;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Operation;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * <code>generate --watch</code>: generates, then generates again when the spec file or a file of the
+ * template directory changes.
+ * <p>
+ * After a change of the spec, only the models and APIs that differ from the last run (see
+ * {@link SwaggerDiff}) are generated again, with the supporting files, which may list or embed the
+ * whole spec. A change of the templates, or of anything else than the paths and definitions of the
+ * spec, generates everything. Files of removed models and APIs are not deleted, and files
+ * referenced by the spec are not watched.
+ */
+public class GenerateWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerateWatcher.class);
+    // changes are collected until there is none for this time, an editor may write a file several times
+    private static final long QUIET_MILLIS = 300;
+
+    private final CodegenConfigurator configurator;
+    private Swagger previous;
+
+    public GenerateWatcher(CodegenConfigurator configurator) {
+        this.configurator = configurator;
+    }
+
+    /**
+     * Generate, then watch until the thread is interrupted.
+     */
+    public void watch() {
+        File spec = new File(configurator.getInputSpec()).getAbsoluteFile();
+        if (!spec.isFile()) {
+            throw new IllegalArgumentException("Only a local spec file can be watched: " + configurator.getInputSpec());
+        }
+        File templateDir = isNotEmpty(configurator.getTemplateDir())
+                ? new File(configurator.getTemplateDir()).getAbsoluteFile() : null;
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> directories = new HashMap<WatchKey, Path>();
+            register(watchService, spec.getParentFile().toPath(), directories);
+            if (templateDir != null && templateDir.isDirectory()) {
+                registerTree(watchService, templateDir.toPath(), directories);
+            }
+
+            generate(false);
+            LOGGER.info("Watching {}{}", spec, templateDir != null ? " and " + templateDir : "");
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean specChanged = false;
+                boolean templatesChanged = false;
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    Path directory = directories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            templatesChanged = true;
+                            continue;
+                        }
+                        Path path = directory.resolve((Path) event.context());
+                        if (path.equals(spec.toPath())) {
+                            specChanged = true;
+                        } else if (templateDir != null && path.startsWith(templateDir.toPath())) {
+                            templatesChanged = true;
+                            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                                registerTree(watchService, path, directories);
+                            }
+                        }
+                    }
+                    if (!key.reset()) {
+                        directories.remove(key);
+                    }
+                    key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (specChanged || templatesChanged) {
+                    try {
+                        generate(templatesChanged);
+                    } catch (RuntimeException e) {
+                        // keep watching, the next save may fix the spec
+                        LOGGER.error("Generation failed", e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not watch " + spec, e);
+        }
+    }
+
+    /**
+     * Generate the files that depend on the changes since the last run, or all files for the first
+     * run.
+     *
+     * @param templatesChanged true if templates changed since the last run
+     * @return the generated files
+     */
+    public List<File> generate(boolean templatesChanged) {
+        if (templatesChanged) {
+            TemplateCache.getShared().clear();
+        }
+        ClientOptInput input = configurator.toClientOptInput();
+        Swagger current = flatten(input.getSwagger());
+        GenerationOptions options = new GenerationOptions(input.getGenerationOptions());
+
+        if (previous != null && !templatesChanged) {
+            SwaggerDiff diff = SwaggerDiff.compare(previous, current);
+            if (!diff.isChanged()) {
+                LOGGER.info("No changes");
+                return Collections.emptyList();
+            }
+            if (!diff.isGlobalChange()) {
+                LOGGER.info("Changes: {}", diff);
+                // an empty set would select everything
+                Set<String> models = new LinkedHashSet<String>(diff.getModels());
+                if (current.getDefinitions() != null) {
+                    models.retainAll(current.getDefinitions().keySet());
+                } else {
+                    models.clear();
+                }
+                options.setModels(models.isEmpty() ? null : models)
+                        .setApis(apiNames(input.getConfig(), diff.getTags()))
+                        .setSupportingFiles(Collections.<String>emptySet())
+                        .setProcessAll(true);
+            }
+        }
+
+        List<File> files = new DefaultGenerator().opts(input.generationOptions(options)).generate();
+        previous = current;
+        LOGGER.info("Generated {} files", files.size());
+        return files;
+    }
+
+    /**
+     * @return the names of the APIs with the given tags, an empty set to generate all APIs when the
+     * generator does not group operations by tag, or null to generate none
+     */
+    private static Set<String> apiNames(CodegenConfig config, Set<String> tags) {
+        if (tags.isEmpty()) {
+            return null;
+        }
+        try {
+            if (config.getClass().getMethod("addOperationToGroup", String.class, String.class, Operation.class,
+                    CodegenOperation.class, Map.class).getDeclaringClass() != DefaultCodegen.class) {
+                return Collections.emptySet();
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        Set<String> names = new LinkedHashSet<String>();
+        for (String tag : tags) {
+            names.add(config.sanitizeTag(tag));
+        }
+        return names;
+    }
+
+    // the spec as the generator sees it, without changing the spec of the run
+    private static Swagger flatten(Swagger swagger) {
+        Swagger copy;
+        try {
+            copy = Json.mapper().readValue(Json.mapper().writeValueAsBytes(swagger), Swagger.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy the spec", e);
+        }
+        new InlineModelResolver().flatten(copy);
+        return copy;
+    }
+
+    private static void register(WatchService watchService, Path directory, Map<WatchKey, Path> directories) throws IOException {
+        WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        directories.put(key, directory);
+    }
+
+    private static void registerTree(final WatchService watchService, Path root, final Map<WatchKey, Path> directories) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(watchService, dir, directories);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
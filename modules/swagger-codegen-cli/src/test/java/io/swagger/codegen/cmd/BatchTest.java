@@ -0,0 +1,121 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class BatchTest {
+    private static final String SPEC = "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Batch\", \"version\": \"1.0\"},"
+            + " \"paths\": {\"/pets\": {\"get\": {\"tags\": [\"pet\"], \"operationId\": \"listPets\","
+            + " \"responses\": {\"200\": {\"description\": \"pets\", \"schema\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/Pet\"}}}}}}},"
+            + " \"definitions\": {\"Pet\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}}";
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+        FileUtils.writeStringToFile(new File(directory, "spec.json"), SPEC, "UTF-8");
+        FileUtils.writeStringToFile(new File(directory, "java.json"), "{\"modelPackage\": \"org.example.batch\"}", "UTF-8");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testReadManifest() throws IOException {
+        File manifest = new File(directory, "manifest.yaml");
+        FileUtils.writeStringToFile(manifest, "- inputSpec: spec.json\n  lang: python\n  outputDir: out/python\n"
+                + "- configFile: java.json\n", "UTF-8");
+
+        List<Batch.Job> jobs = Batch.readManifest(manifest);
+        assertEquals(jobs.size(), 2);
+        assertEquals(jobs.get(0).getInputSpec(), "spec.json");
+        assertEquals(jobs.get(0).getLang(), "python");
+        assertEquals(jobs.get(0).getOutputDir(), "out/python");
+        assertNull(jobs.get(0).getConfigFile());
+        assertEquals(jobs.get(1).getConfigFile(), "java.json");
+    }
+
+    @Test
+    public void testBatch() throws IOException {
+        SwaggerCodegen.main(new String[]{"batch", "-m", writeManifest(
+                job("python", "out/python", null),
+                job("java", "out/java", path("java.json")),
+                job("ruby", "out/ruby", null))});
+
+        assertTrue(new File(directory, "out/python/swagger_client/models/pet.py").isFile());
+        assertTrue(new File(directory, "out/java/src/main/java/org/example/batch/Pet.java").isFile());
+        assertTrue(new File(directory, "out/ruby/lib/swagger_client/models/pet.rb").isFile());
+    }
+
+    @Test
+    public void testFailedJob() throws IOException {
+        String manifest = writeManifest(
+                job("no-such-generator", "out/none", null),
+                job("python", "out/python", null));
+        try {
+            SwaggerCodegen.main(new String[]{"batch", "-m", manifest, "--threads", "1"});
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "1 of 2 jobs failed");
+        }
+        // the other jobs still run
+        assertTrue(new File(directory, "out/python/swagger_client/models/pet.py").isFile());
+    }
+
+    @Test
+    public void testGenerationOptionsOfConfigFile() throws IOException {
+        FileUtils.writeStringToFile(new File(directory, "models.json"),
+                "{\"systemProperties\": {\"models\": \"\", \"modelDocs\": \"false\"}}", "UTF-8");
+        SwaggerCodegen.main(new String[]{"batch", "-m", writeManifest(job("python", "out/python", path("models.json")))});
+
+        assertTrue(new File(directory, "out/python/swagger_client/models/pet.py").isFile());
+        assertFalse(new File(directory, "out/python/swagger_client/apis/pet_api.py").exists());
+        assertFalse(new File(directory, "out/python/docs/Pet.md").exists());
+    }
+
+    @Test
+    public void testOtherSystemPropertiesAreRejected() throws IOException {
+        FileUtils.writeStringToFile(new File(directory, "jvm.json"),
+                "{\"systemProperties\": {\"batchTestProperty\": \"true\"}}", "UTF-8");
+        try {
+            SwaggerCodegen.main(new String[]{"batch", "-m", writeManifest(job("python", "out/python", path("jvm.json")))});
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "1 of 1 jobs failed");
+        }
+        assertNull(System.getProperty("batchTestProperty"));
+        assertFalse(new File(directory, "out/python").exists());
+    }
+
+    private String job(String lang, String outputDir, String configFile) {
+        return "{\"inputSpec\": \"" + path("spec.json") + "\", \"lang\": \"" + lang + "\", \"outputDir\": \"" + path(outputDir) + "\""
+                + (configFile != null ? ", \"configFile\": \"" + configFile + "\"" : "") + "}";
+    }
+
+    private String path(String name) {
+        return new File(directory, name).getAbsolutePath().replace('\\', '/');
+    }
+
+    private String writeManifest(String... jobs) throws IOException {
+        File manifest = new File(directory, "manifest.json");
+        StringBuilder json = new StringBuilder("[");
+        for (String job : jobs) {
+            json.append(json.length() > 1 ? ",\n" : "\n").append(job);
+        }
+        FileUtils.writeStringToFile(manifest, json.append("\n]").toString(), "UTF-8");
+        return manifest.getAbsolutePath();
+    }
+}
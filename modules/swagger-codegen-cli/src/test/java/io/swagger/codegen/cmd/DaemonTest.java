@@ -0,0 +1,160 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.codegen.SpecCache;
+import io.swagger.codegen.SwaggerCodegen;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class DaemonTest {
+    private static final String SPEC = "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Daemon\", \"version\": \"1.0\"},"
+            + " \"paths\": {\"/pets\": {\"post\": {\"tags\": [\"pet\"], \"operationId\": \"addPet\","
+            + " \"parameters\": [{\"in\": \"body\", \"name\": \"body\", \"schema\": {\"type\": \"object\", \"properties\": {\"tag\": {\"type\": \"string\"}}}}],"
+            + " \"responses\": {\"200\": {\"description\": \"pet\", \"schema\": {\"$ref\": \"#/definitions/Pet\"}}}}}},"
+            + " \"definitions\": {\"Pet\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"},"
+            + " \"owner\": {\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\"}}}}}}}";
+
+    private File directory;
+    private DaemonServer server;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+        FileUtils.writeStringToFile(new File(directory, "spec.json"), SPEC, "UTF-8");
+        System.setProperty(DaemonServer.DIRECTORY_PROPERTY, new File(directory, "daemon").getPath());
+        server = new DaemonServer(0, 2, new SpecCache());
+        server.start();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        server.stop();
+        server.awaitTermination();
+        System.clearProperty(DaemonServer.DIRECTORY_PROPERTY);
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testGenerate() throws IOException {
+        generate("first");
+        // the spec is read from the cache, and modified by the generation again
+        generate("second");
+
+        File first = new File(directory, "first");
+        File second = new File(directory, "second");
+        assertTrue(new File(first, "swagger_client/models/pet.py").isFile());
+        assertTrue(new File(first, "swagger_client/models/body.py").isFile());
+        for (File file : FileUtils.listFiles(first, null, true)) {
+            String path = first.toURI().relativize(file.toURI()).getPath();
+            assertEquals(FileUtils.readFileToString(new File(second, path), "UTF-8"),
+                    FileUtils.readFileToString(file, "UTF-8"), path);
+        }
+
+        JsonNode status = new DaemonClient(server.getPort()).status();
+        assertEquals(status.path("requests").asInt(), 2);
+        assertEquals(status.path("failures").asInt(), 0);
+        assertEquals(status.path("latency").path("count").asInt(), 2);
+        assertEquals(status.path("specCache").path("size").asInt(), 1);
+        assertEquals(status.path("specCache").path("hits").asInt(), 1);
+        assertEquals(status.path("specCache").path("misses").asInt(), 1);
+        assertTrue(status.path("templateCache").path("size").asInt() > 0);
+    }
+
+    @Test
+    public void testEditedTemplates() throws IOException {
+        File templates = new File(directory, "templates");
+        File model = new File(templates, "model.mustache");
+        FileUtils.writeStringToFile(model, "{{#models}}{{#model}}v1 {{classname}}{{/model}}{{/models}}", "UTF-8");
+        generate("first", "-t", templates.getPath());
+        FileUtils.writeStringToFile(model, "{{#models}}{{#model}}version 2 {{classname}}{{/model}}{{/models}}", "UTF-8");
+        generate("second", "-t", templates.getPath());
+
+        assertEquals(FileUtils.readFileToString(new File(directory, "first/swagger_client/models/pet.py"), "UTF-8"), "v1 Pet");
+        assertEquals(FileUtils.readFileToString(new File(directory, "second/swagger_client/models/pet.py"), "UTF-8"), "version 2 Pet");
+    }
+
+    @Test
+    public void testOtherSystemPropertiesAreRejected() {
+        try {
+            generate("rejected", "-DsupportPython2=true");
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Daemon request failed: System property supportPython2 is not a generation option"),
+                    e.getMessage());
+        }
+        assertNull(System.getProperty("supportPython2"));
+        assertFalse(new File(directory, "rejected").exists());
+
+        // generation options apply to the request only
+        generate("models", "-Dmodels");
+        assertTrue(new File(directory, "models/swagger_client/models/pet.py").isFile());
+        assertFalse(new File(directory, "models/swagger_client/api").exists());
+    }
+
+    @Test
+    public void testFailedGeneration() {
+        try {
+            SwaggerCodegen.main(new String[]{"generate", "-i", new File(directory, "spec.json").getPath(),
+                    "-l", "no-such-generator", "--daemon", "--daemon-port", String.valueOf(server.getPort())});
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Daemon request failed: Can't load config class"), e.getMessage());
+        }
+        assertEquals(new DaemonClient(server.getPort()).status().path("failures").asInt(), 1);
+    }
+
+    @Test
+    public void testToken() throws IOException {
+        File tokenFile = DaemonServer.tokenFile(server.getPort());
+        assertTrue(tokenFile.isFile());
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile.toPath())), "rw-------");
+        }
+
+        ObjectNode request = Json.mapper().createObjectNode();
+        request.put("command", DaemonServer.STOP);
+        ObjectNode response = server.handle(request.toString());
+        assertFalse(response.path("ok").asBoolean());
+        assertTrue(response.path("error").asText().startsWith("Invalid daemon token"), response.toString());
+
+        request.put("token", "not-the-token");
+        assertFalse(server.handle(request.toString()).path("ok").asBoolean());
+        // still running
+        assertEquals(new DaemonClient(server.getPort()).status().path("failures").asInt(), 0);
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        new DaemonClient(server.getPort()).stop();
+        server.awaitTermination();
+        assertFalse(DaemonServer.tokenFile(server.getPort()).exists());
+        try {
+            new DaemonClient(server.getPort()).status();
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Could not read the token of the daemon"), e.getMessage());
+        }
+    }
+
+    private void generate(String output, String... options) {
+        List<String> args = new ArrayList<String>(Arrays.asList("generate", "-i", new File(directory, "spec.json").getPath(),
+                "-l", "python", "-o", new File(directory, output).getPath(), "--daemon", "--daemon-port", String.valueOf(server.getPort())));
+        args.addAll(Arrays.asList(options));
+        SwaggerCodegen.main(args.toArray(new String[args.size()]));
+    }
+}
@@ -296,6 +296,24 @@ public class GenerateTest {
         }};
     }
 
+    @Test
+    public void testThreads() throws Exception {
+        setupAndRunGenericTest("--threads", "4");
+
+        new FullVerifications(){{
+            configurator.setGeneratorThreads(4); times=1;
+        }};
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        setupAndRunGenericTest("--metrics");
+
+        new FullVerifications(){{
+            configurator.setGenerationMetrics(true); times=1;
+        }};
+    }
+
     private void setupAndRunTest(String specFlag, final String spec, String langFlag, final String lang,
                                  String outputDirFlag, final String outputDir, boolean configuratorFromFile,
                                  final String configFile, String... additionalParameters) {
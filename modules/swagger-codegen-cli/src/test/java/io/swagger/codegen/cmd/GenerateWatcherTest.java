@@ -0,0 +1,116 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class GenerateWatcherTest {
+    private static final String SPEC = "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Watch\", \"version\": \"1.0\"},"
+            + " \"paths\": {\"/pets\": {\"get\": {\"tags\": [\"pet\"], \"operationId\": \"listPets\","
+            + " \"responses\": {\"200\": {\"description\": \"pets\", \"schema\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/Pet\"}}}}}},"
+            + " \"/categories\": {\"get\": {\"tags\": [\"category\"], \"operationId\": \"listCategories\","
+            + " \"responses\": {\"200\": {\"description\": \"categories\", \"schema\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/Category\"}}}}}}},"
+            + " \"definitions\": {\"Pet\": {\"type\": \"object\", \"properties\": {\"%s\": {\"type\": \"string\"}}},"
+            + " \"Category\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}}";
+
+    private File directory;
+    private File spec;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+        spec = new File(directory, "spec.json");
+        writeSpec("name");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testGenerateChanges() throws IOException {
+        File output = new File(directory, "watched");
+        GenerateWatcher watcher = new GenerateWatcher(configurator(output));
+        List<File> all = watcher.generate(false);
+        assertTrue(watcher.generate(false).isEmpty());
+
+        writeSpec("nickname");
+        Set<String> changed = relativePaths(output, watcher.generate(false));
+        assertTrue(changed.contains("swagger_client/models/pet.py"), changed.toString());
+        assertTrue(changed.contains("swagger_client/apis/pet_api.py"), changed.toString());
+        assertTrue(changed.contains("README.md"), changed.toString());
+        assertFalse(changed.contains("swagger_client/models/category.py"), changed.toString());
+        assertFalse(changed.contains("swagger_client/apis/category_api.py"), changed.toString());
+        assertTrue(changed.size() < all.size());
+
+        // the same files as a full generation
+        File full = new File(directory, "full");
+        new GenerateWatcher(configurator(full)).generate(false);
+        for (File file : FileUtils.listFiles(full, null, true)) {
+            String path = full.toURI().relativize(file.toURI()).getPath();
+            assertEquals(FileUtils.readFileToString(new File(output, path), "UTF-8"),
+                    FileUtils.readFileToString(file, "UTF-8"), path);
+        }
+
+        // templates may change any file, existing test files are kept
+        Set<String> regenerated = relativePaths(output, watcher.generate(true));
+        assertTrue(regenerated.contains("swagger_client/models/category.py"), regenerated.toString());
+        assertTrue(regenerated.contains("swagger_client/apis/category_api.py"), regenerated.toString());
+    }
+
+    @Test(timeOut = 30000)
+    public void testWatch() throws Exception {
+        final File output = new File(directory, "watched");
+        final File pet = new File(output, "swagger_client/models/pet.py");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                new GenerateWatcher(configurator(output)).watch();
+            }
+        });
+        thread.start();
+        try {
+            while (!pet.exists() || !FileUtils.readFileToString(pet, "UTF-8").contains("name")) {
+                Thread.sleep(100);
+            }
+            writeSpec("nickname");
+            while (!FileUtils.readFileToString(pet, "UTF-8").contains("nickname")) {
+                Thread.sleep(100);
+            }
+        } finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private CodegenConfigurator configurator(File output) {
+        return new CodegenConfigurator()
+                .setInputSpec(spec.getAbsolutePath())
+                .setLang("python")
+                .setOutputDir(output.getAbsolutePath());
+    }
+
+    private void writeSpec(String property) throws IOException {
+        FileUtils.writeStringToFile(spec, String.format(SPEC, property), "UTF-8");
+    }
+
+    private static Set<String> relativePaths(File root, List<File> files) {
+        Set<String> paths = new HashSet<String>();
+        for (File file : files) {
+            paths.add(root.toURI().relativize(file.getAbsoluteFile().toURI()).getPath());
+        }
+        return paths;
+    }
+}
@@ -25,29 +25,44 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.codegen.CliOption;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationOptions;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
 
 /**
  * Goal which generates client/server code from a swagger json/yaml definition.
+ * <p>
+ * The generation is skipped when its inputs did not change since the last generation of the
+ * execution, see {@link #skipIfUpToDate}.
  */
-@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
 public class CodeGenMojo extends AbstractMojo {
+    // environmentVariables are set as System properties, which all executions of the JVM share
+    private static final Object SYSTEM_PROPERTIES_LOCK = new Object();
 
     @Parameter(name="verbose", required = false, defaultValue = "false")
     private boolean verbose;
@@ -244,6 +259,13 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "skip", property = "codegen.skip", required = false, defaultValue = "false")
     private Boolean skip;
 
+    /**
+     * Skip the generation when the spec files, the templates, the options and the plugin version
+     * are the same as for the last generation of this execution. A remote spec is always generated.
+     */
+    @Parameter(name = "skipIfUpToDate", property = "codegen.skipIfUpToDate", required = false, defaultValue = "true")
+    private boolean skipIfUpToDate = true;
+
     /**
      * Add the output directory to the project as a source root, so that the
      * generated java types are compiled and included in the project artifact.
@@ -266,6 +288,14 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    @Parameter(readonly = true, defaultValue = "${mojoExecution}")
+    private MojoExecution mojoExecution;
+
+    @Parameter(readonly = true, defaultValue = "${plugin}")
+    private PluginDescriptor plugin;
+
+    @Component
+    private BuildContext buildContext;
 
 
     @Override
@@ -361,29 +391,24 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
-        // Set generation options
+        // Set generation options, for this execution only: other executions may run in the same JVM
+        GenerationOptions generationOptions = configurator.getGenerationOptions().setUseSystemProperties(false);
         if (null != generateApis && generateApis) {
-            System.setProperty("apis", "");
-        } else {
-            System.clearProperty("apis");
+            generationOptions.set(GenerationOptions.APIS, "");
         }
 
         if (null != generateModels && generateModels) {
-            System.setProperty("models", modelsToGenerate);
-        } else {
-            System.clearProperty("models");
+            generationOptions.set(GenerationOptions.MODELS, modelsToGenerate);
         }
 
         if (null != generateSupportingFiles && generateSupportingFiles) {
-            System.setProperty("supportingFiles", supportingFilesToGenerate);
-        } else {
-            System.clearProperty("supportingFiles");
+            generationOptions.set(GenerationOptions.SUPPORTING_FILES, supportingFilesToGenerate);
         }
-        
-        System.setProperty("modelTests", generateModelTests.toString());
-        System.setProperty("modelDocs", generateModelDocumentation.toString());
-        System.setProperty("apiTests", generateApiTests.toString());
-        System.setProperty("apiDocs", generateApiDocumentation.toString());
+
+        generationOptions.setModelTests(generateModelTests)
+                .setModelDocs(generateModelDocumentation)
+                .setApiTests(generateApiTests)
+                .setApiDocs(generateApiDocumentation);
 
         if (configOptions != null) {
 
@@ -418,19 +443,70 @@ public class CodeGenMojo extends AbstractMojo {
         }
 
         if (environmentVariables != null) {
+            for (Map.Entry<String, String> entry : environmentVariables.entrySet()) {
+                // don't put null values
+                configurator.addSystemProperty(entry.getKey(), entry.getValue() == null ? "" : entry.getValue());
+            }
+        }
 
-            for(String key : environmentVariables.keySet()) {
-                originalEnvironmentVariables.put(key, System.getProperty(key));
-                String value = environmentVariables.get(key);
-                if(value == null) {
-                    // don't put null values
-                    value = "";
+        if (configHelp) {
+            generate(configurator);
+            return;
+        }
+
+        File fingerprintFile = InputFingerprint.getFile(output, mojoExecution != null ? mojoExecution.getExecutionId() : "default");
+        String fingerprint = null;
+        if (skipIfUpToDate && isUnchangedInIncrementalBuild(configurator, fingerprintFile)) {
+            getLog().info("Code generation is skipped, no input changed.");
+            addCompileSourceRootIfConfigured();
+            return;
+        }
+        if (skipIfUpToDate) {
+            InputFingerprint inputs;
+            try {
+                inputs = fingerprint(configurator);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Could not read the inputs of the generation", e);
+            }
+            fingerprint = inputs.compute();
+            if (fingerprint != null && fingerprint.equals(InputFingerprint.read(fingerprintFile))) {
+                getLog().info("Code generation is skipped, the generated code is up to date.");
+                addCompileSourceRootIfConfigured();
+                return;
+            }
+        }
+
+        // a failed generation is not up to date
+        fingerprintFile.delete();
+        if (configurator.getSystemProperties().isEmpty()) {
+            generate(configurator);
+        } else {
+            synchronized (SYSTEM_PROPERTIES_LOCK) {
+                for (Map.Entry<String, String> entry : configurator.getSystemProperties().entrySet()) {
+                    originalEnvironmentVariables.put(entry.getKey(), System.getProperty(entry.getKey()));
+                    System.setProperty(entry.getKey(), entry.getValue());
                 }
-                System.setProperty(key, value);
-                configurator.addSystemProperty(key, value);
+                try {
+                    generate(configurator);
+                } finally {
+                    restoreEnvironmentVariables();
+                }
+            }
+        }
+        buildContext.refresh(output);
+
+        if (fingerprint != null) {
+            try {
+                InputFingerprint.write(fingerprintFile, fingerprint);
+            } catch (IOException e) {
+                getLog().warn("Could not write " + fingerprintFile + ", the next build will generate again: " + e);
             }
         }
-        
+
+        addCompileSourceRootIfConfigured();
+    }
+
+    private void generate(CodegenConfigurator configurator) throws MojoExecutionException {
         final ClientOptInput input = configurator.toClientOptInput();
         final CodegenConfig config = input.getConfig();
 
@@ -451,6 +527,7 @@ public class CodeGenMojo extends AbstractMojo {
             }
             return;
         }
+
         try {
             new DefaultGenerator().opts(input).generate();
         } catch (Exception e) {
@@ -460,8 +537,51 @@ public class CodeGenMojo extends AbstractMojo {
             getLog().error(e); 
             throw new MojoExecutionException("Code generation failed. See above for the full exception.");
         }
+    }
 
-        addCompileSourceRootIfConfigured();
+    private InputFingerprint fingerprint(CodegenConfigurator configurator) throws IOException {
+        InputFingerprint inputs = new InputFingerprint();
+        if (plugin != null) {
+            inputs.add("plugin", plugin.getVersion());
+            // a snapshot may change without changing its version
+            File pluginFile = plugin.getPluginArtifact() != null ? plugin.getPluginArtifact().getFile() : null;
+            if (plugin.getVersion().endsWith("-SNAPSHOT") && pluginFile != null) {
+                inputs.add("pluginFile", pluginFile.lastModified());
+            }
+        }
+        try {
+            inputs.add("configurator", Json.mapper().writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                            .writeValueAsString(configurator))
+                    .add("generationOptions", Json.mapper().writeValueAsString(configurator.getGenerationOptions()));
+        } catch (JsonProcessingException e) {
+            throw new IOException(e);
+        }
+        inputs.add("configOptions", configOptions)
+                .add("addCompileSourceRoot", addCompileSourceRoot)
+                .addSpec(configurator.getInputSpec());
+        if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+            inputs.addFile(new File(configurator.getIgnoreFileOverride()));
+        }
+        if (isNotEmpty(configurator.getTemplateDir())) {
+            inputs.addDirectory(new File(configurator.getTemplateDir()));
+        }
+        return inputs;
+    }
+
+    // the IDE builds incrementally after each save, without hashing the inputs each time
+    private boolean isUnchangedInIncrementalBuild(CodegenConfigurator configurator, File fingerprintFile) {
+        if (!buildContext.isIncremental() || !fingerprintFile.isFile()) {
+            return false;
+        }
+        File spec = new File(configurator.getInputSpec());
+        if (!spec.isFile()) {
+            return false;
+        }
+        // the directory of the spec, which may hold the files it references
+        if (buildContext.hasDelta(spec.getAbsoluteFile().getParentFile())) {
+            return false;
+        }
+        return !isNotEmpty(configurator.getTemplateDir()) || !buildContext.hasDelta(new File(configurator.getTemplateDir()));
     }
 
     private void addCompileSourceRootIfConfigured() {
@@ -472,7 +592,9 @@ public class CodeGenMojo extends AbstractMojo {
             String sourceJavaFolder = output.toString() + "/" + sourceFolder;
             project.addCompileSourceRoot(sourceJavaFolder);
         }
+    }
 
+    private void restoreEnvironmentVariables() {
         // Reset all environment variables to their original value. This prevents unexpected behaviour
         // when running the plugin multiple consecutive times with different configurations.
         for(Map.Entry<String, String> entry : originalEnvironmentVariables.entrySet()) {
@@ -482,5 +604,6 @@ public class CodeGenMojo extends AbstractMojo {
                 System.setProperty(entry.getKey(), entry.getValue());
             }
         }
+        originalEnvironmentVariables.clear();
     }
 }
@@ -0,0 +1,181 @@
+package io.swagger.codegen.plugin;
+
+import io.swagger.codegen.GenerationManifest;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hash of everything a generation depends on, computed without parsing the spec: the plugin version,
+ * the options, the local spec files (the input spec and the files it references) and the files of
+ * the template directory.
+ * <p>
+ * The fingerprint of the last generation of an execution is stored in the output directory. A spec
+ * that is not a local file, or references a remote file, has no fingerprint: it may change at any
+ * time.
+ */
+class InputFingerprint {
+    static final String FOLDER = GenerationManifest.METADATA_FOLDER;
+
+    // the location of a $ref that is not in the same file, in JSON or YAML
+    private static final Pattern FILE_REF = Pattern.compile("\\$ref['\"]?+\\s*+:\\s*+['\"]?+([^'\"#\\s,}]+)");
+
+    private final MessageDigest digest;
+    private final Set<File> files = new LinkedHashSet<File>();
+    private boolean remote;
+
+    InputFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param file the fingerprint file of an execution
+     * @return the stored fingerprint, or null if there is none
+     */
+    static String read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return FileUtils.readFileToString(file, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static void write(File file, String fingerprint) throws IOException {
+        FileUtils.writeStringToFile(file, fingerprint, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param outputDir output directory of the execution
+     * @param executionId id of the execution, several executions may write to the same directory
+     * @return the fingerprint file of the execution
+     */
+    static File getFile(File outputDir, String executionId) {
+        return new File(new File(outputDir, FOLDER), "fingerprint-" + executionId.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    InputFingerprint add(String name, Object value) {
+        update(name);
+        update(String.valueOf(value instanceof Map ? new TreeMap<Object, Object>((Map<?, ?>) value) : value));
+        return this;
+    }
+
+    /**
+     * Add a spec, and the local files it references.
+     *
+     * @param inputSpec location of the spec
+     * @return this
+     * @throws IOException if a spec file cannot be read
+     */
+    InputFingerprint addSpec(String inputSpec) throws IOException {
+        File spec = new File(inputSpec);
+        if (!spec.isFile()) {
+            remote = true;
+            return this;
+        }
+        List<File> pending = new ArrayList<File>();
+        pending.add(spec.getCanonicalFile());
+        while (!pending.isEmpty()) {
+            File file = pending.remove(pending.size() - 1);
+            if (!files.add(file)) {
+                continue;
+            }
+            if (!file.isFile()) {
+                // the parser reports it
+                update("missing " + file);
+                continue;
+            }
+            byte[] content = FileUtils.readFileToByteArray(file);
+            update(file.getPath());
+            digest.update(content);
+            Matcher ref = FILE_REF.matcher(new String(content, StandardCharsets.UTF_8));
+            while (ref.find()) {
+                String location = ref.group(1);
+                if (location.contains("://")) {
+                    remote = true;
+                } else {
+                    pending.add(new File(file.getParentFile(), location).getCanonicalFile());
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param file a file the generation reads, may not exist
+     * @return this
+     * @throws IOException if the file cannot be read
+     */
+    InputFingerprint addFile(File file) throws IOException {
+        update(file.getPath());
+        if (file.isFile()) {
+            digest.update(FileUtils.readFileToByteArray(file));
+        }
+        return this;
+    }
+
+    /**
+     * @param directory template directory, may be null
+     * @return this
+     * @throws IOException if a template cannot be read
+     */
+    InputFingerprint addDirectory(File directory) throws IOException {
+        if (directory == null || !directory.isDirectory()) {
+            return this;
+        }
+        Map<String, File> sorted = new TreeMap<String, File>();
+        for (File file : (Collection<File>) FileUtils.listFiles(directory, null, true)) {
+            sorted.put(directory.toURI().relativize(file.toURI()).getPath(), file);
+        }
+        for (Map.Entry<String, File> file : sorted.entrySet()) {
+            update(file.getKey());
+            digest.update(FileUtils.readFileToByteArray(file.getValue()));
+        }
+        return this;
+    }
+
+    /**
+     * @return the local spec files that were added
+     */
+    Set<File> getSpecFiles() {
+        return files;
+    }
+
+    /**
+     * @return the hex encoded fingerprint, or null if the inputs include a remote spec
+     */
+    String compute() {
+        if (remote) {
+            return null;
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private void update(String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
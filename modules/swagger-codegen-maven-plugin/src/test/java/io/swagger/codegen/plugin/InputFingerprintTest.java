@@ -0,0 +1,149 @@
+package io.swagger.codegen.plugin;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class InputFingerprintTest {
+    private static final String SPEC = "swagger: '2.0'\n"
+            + "info:\n  title: Fingerprint\n  version: '1.0'\n"
+            + "paths:\n  /pets:\n    get:\n      responses:\n        200:\n          description: pets\n"
+            + "          schema:\n            $ref: './definitions/pet.json#/Pet'\n";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File spec;
+    private File pet;
+    private File templates;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        folder.create();
+        spec = new File(folder.getRoot(), "api.yaml");
+        pet = new File(folder.getRoot(), "definitions/pet.json");
+        templates = new File(folder.getRoot(), "templates");
+        write(spec, SPEC);
+        write(pet, "{\"Pet\": {\"type\": \"object\", \"properties\": {\"owner\": {\"$ref\": \"owner.json#/Owner\"}}}}");
+        write(new File(pet.getParentFile(), "owner.json"), "{\"Owner\": {\"type\": \"object\"}}");
+        write(new File(templates, "model.mustache"), "{{classname}}");
+        write(new File(templates, "libraries/feign/api.mustache"), "{{classname}}");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        folder.delete();
+    }
+
+    @Test
+    public void testSameInputs() throws IOException {
+        assertNotNull(fingerprint(options("java")));
+        assertEquals(fingerprint(options("java")), fingerprint(options("java")));
+    }
+
+    @Test
+    public void testSpecEdit() throws IOException {
+        String before = fingerprint(options("java"));
+        write(spec, SPEC.replace("title: Fingerprint", "title: Edited"));
+        assertNotEquals(before, fingerprint(options("java")));
+    }
+
+    @Test
+    public void testReferencedFileEdit() throws IOException {
+        InputFingerprint inputs = new InputFingerprint().addSpec(spec.getPath());
+        assertEquals(inputs.getSpecFiles(), new HashSet<File>(Arrays.asList(spec.getCanonicalFile(),
+                pet.getCanonicalFile(), new File(pet.getParentFile(), "owner.json").getCanonicalFile())));
+
+        String before = fingerprint(options("java"));
+        // referenced by a referenced file
+        write(new File(pet.getParentFile(), "owner.json"), "{\"Owner\": {\"type\": \"string\"}}");
+        String edited = fingerprint(options("java"));
+        assertNotEquals(before, edited);
+        write(pet, "{\"Pet\": {\"type\": \"object\"}}");
+        assertNotEquals(edited, fingerprint(options("java")));
+    }
+
+    @Test
+    public void testTemplateEdit() throws IOException {
+        String before = fingerprint(options("java"));
+        write(new File(templates, "libraries/feign/api.mustache"), "{{classname}}Api");
+        String edited = fingerprint(options("java"));
+        assertNotEquals(before, edited);
+
+        write(new File(templates, "api_doc.mustache"), "");
+        assertNotEquals(edited, fingerprint(options("java")));
+    }
+
+    @Test
+    public void testConfigChange() throws IOException {
+        String before = fingerprint(options("java"));
+        assertNotEquals(before, fingerprint(options("kotlin")));
+
+        Map<String, Object> options = options("java");
+        options.put("dateLibrary", "java8");
+        assertNotEquals(before, fingerprint(options));
+
+        // the order of the options does not matter
+        Map<String, Object> reordered = new LinkedHashMap<String, Object>();
+        reordered.put("dateLibrary", "java8");
+        reordered.putAll(options("java"));
+        assertEquals(fingerprint(options), fingerprint(reordered));
+    }
+
+    @Test
+    public void testRemoteSpec() throws IOException {
+        assertNull(new InputFingerprint().addSpec("http://localhost/api.yaml").compute());
+
+        write(pet, "{\"Pet\": {\"$ref\": \"http://localhost/pet.json#/Pet\"}}");
+        assertNull(fingerprint(options("java")));
+    }
+
+    @Test
+    public void testExecutionsSharingAnOutputFolder() throws IOException {
+        File output = folder.newFolder("generated");
+        File first = InputFingerprint.getFile(output, "client");
+        File second = InputFingerprint.getFile(output, "server");
+        assertNotEquals(first, second);
+        assertEquals(first.getParentFile(), new File(output, InputFingerprint.FOLDER));
+        assertEquals(InputFingerprint.getFile(output, "a/b").getParentFile(), first.getParentFile());
+
+        InputFingerprint.write(first, fingerprint(options("java")));
+        assertEquals(InputFingerprint.read(first), fingerprint(options("java")));
+        assertNull(InputFingerprint.read(second));
+
+        InputFingerprint.write(second, fingerprint(options("jaxrs")));
+        // the fingerprint of an execution is not replaced by the other one
+        assertEquals(InputFingerprint.read(first), fingerprint(options("java")));
+        assertEquals(InputFingerprint.read(second), fingerprint(options("jaxrs")));
+    }
+
+    private String fingerprint(Map<String, Object> options) throws IOException {
+        return new InputFingerprint()
+                .add("configOptions", options)
+                .addSpec(spec.getPath())
+                .addDirectory(templates)
+                .compute();
+    }
+
+    private static Map<String, Object> options(String lang) {
+        Map<String, Object> options = new LinkedHashMap<String, Object>();
+        options.put("lang", lang);
+        options.put("sourceFolder", "src/gen/java");
+        return options;
+    }
+
+    private static void write(File file, String contents) throws IOException {
+        FileUtils.writeStringToFile(file, contents, StandardCharsets.UTF_8);
+    }
+}
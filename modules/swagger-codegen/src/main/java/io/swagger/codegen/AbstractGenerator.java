@@ -1,16 +1,20 @@
 package io.swagger.codegen;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
@@ -20,21 +24,86 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
-    @SuppressWarnings("static-method")
+    // resolved template paths, keyed by template dir, embedded template dir, library and template file
+    private final ConcurrentMap<List<String>, String> templatePaths = new ConcurrentHashMap<List<String>, String>();
+    // template folders known not to exist, so that files in them are not probed one by one
+    private final Set<String> missingTemplateDirs = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private OutputSink outputSink = new FileOutputSink();
+
+    /**
+     * Writes the contents of a file to a stream, see {@link #writeToFile(String, ContentWriter)}.
+     */
+    public interface ContentWriter {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    /**
+     * @return the destination of the written files, the file system by default
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * @param outputSink the destination of the written files
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
     public File writeToFile(String filename, String contents) throws IOException {
-        LOGGER.info("writing file " + filename);
+        return writeToFile(filename, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write the contents to the given file. A file that already has exactly these contents is not
+     * written again, so its modification time is preserved.
+     *
+     * @param filename File name
+     * @param contents File contents
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    public File writeToFile(String filename, byte[] contents) throws IOException {
         File output = new File(filename);
+        afterWrite(output, outputSink.write(output, contents));
+        return output;
+    }
 
-        if (output.getParent() != null && !new File(output.getParent()).exists()) {
-            File parent = new File(output.getParent());
-            parent.mkdirs();
+    /**
+     * Stream the contents to the given file as UTF-8, without holding them in memory when the
+     * files are written to the file system. Readers never see a partially written file, and a file
+     * that already has exactly these contents is not replaced, see {@link FileOutputSink}.
+     *
+     * @param filename File name
+     * @param contents Writer of the file contents
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    public File writeToFile(String filename, ContentWriter contents) throws IOException {
+        File output = new File(filename);
+        afterWrite(output, outputSink.write(output, contents));
+        return output;
+    }
+
+    private void afterWrite(File output, long length) {
+        if (length == OutputSink.UNCHANGED) {
+            LOGGER.info("skipped unchanged file " + output.getPath());
+            afterWriteToFile(output, 0, false);
+        } else {
+            LOGGER.info("writing file " + output.getPath());
+            afterWriteToFile(output, length, true);
         }
-        Writer out = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(output), "UTF-8"));
+    }
 
-        out.write(contents);
-        out.close();
-        return output;
+    /**
+     * Called by the <code>writeToFile</code> methods for every file they handle.
+     *
+     * @param file the file
+     * @param length length of the written contents, 0 if the file was not written
+     * @param written false if the file already had these contents and was not written
+     */
+    protected void afterWriteToFile(File file, long length, boolean written) {
     }
 
     public String readTemplate(String name) {
@@ -71,36 +140,71 @@ public abstract class AbstractGenerator {
     /**
      * Get the template file path with template dir prepended, and use the
      * library template if exists.
+     * <p>
+     * Resolved paths are cached per template dir, embedded template dir and library, see
+     * {@link #clearTemplatePathCache()}.
      *
      * @param config Codegen config
      * @param templateFile Template file
      * @return String Full template file path
      */
     public String getFullTemplateFile(CodegenConfig config, String templateFile) {
+        return getFullTemplateFile(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(), templateFile);
+    }
+
+    /**
+     * Get the template file path in the given template lookup context, see
+     * {@link #getFullTemplateFile(CodegenConfig, String)}.
+     *
+     * @param templateDir template dir
+     * @param embeddedTemplateDir embedded template dir
+     * @param library library, may be null
+     * @param templateFile Template file
+     * @return String Full template file path
+     */
+    public String getFullTemplateFile(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
+        List<String> key = Arrays.asList(templateDir, embeddedTemplateDir, library, templateFile);
+        String fullTemplateFile = templatePaths.get(key);
+        if (fullTemplateFile == null) {
+            fullTemplateFile = resolveTemplateFile(templateDir, embeddedTemplateDir, library, templateFile);
+            templatePaths.put(key, fullTemplateFile);
+        }
+        return fullTemplateFile;
+    }
+
+    /**
+     * Drop all resolved template paths, e.g. after files were added to or removed from the
+     * template dir.
+     */
+    public void clearTemplatePathCache() {
+        templatePaths.clear();
+        missingTemplateDirs.clear();
+    }
+
+    private String resolveTemplateFile(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
         //1st the code will check if there's a <template folder>/libraries/<library> folder containing the file
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
 
         //check the supplied template library folder for the file
-        final String library = config.getLibrary();
         if (StringUtils.isNotEmpty(library)) {
             //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
-            if (new File(libTemplateFile).exists()) {
+            final String libTemplateFile = buildLibraryFilePath(templateDir, library, templateFile);
+            if (templateFileExists(buildLibraryFilePath(templateDir, library, ""), libTemplateFile)) {
                 return libTemplateFile;
             }
         }
 
         //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
-        if (new File(template).exists()) {
+        final String template = templateDir + File.separator + templateFile;
+        if (templateFileExists(templateDir, template)) {
             return template;
         }
 
         //try the embedded template library folder next
         if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
+            final String embeddedLibTemplateFile = buildLibraryFilePath(embeddedTemplateDir, library, templateFile);
             if (embeddedTemplateExists(embeddedLibTemplateFile)) {
                 // Fall back to the template file embedded/packaged in the JAR file library folder...
                 return embeddedLibTemplateFile;
@@ -108,7 +212,18 @@ public abstract class AbstractGenerator {
         }
             
         // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+        return embeddedTemplateDir + File.separator + templateFile;
+    }
+
+    private boolean templateFileExists(String dir, String file) {
+        if (missingTemplateDirs.contains(dir)) {
+            return false;
+        }
+        if (!new File(dir).isDirectory()) {
+            missingTemplateDirs.add(dir);
+            return false;
+        }
+        return new File(file).exists();
     }
 
     public String readResourceContents(String resourceFilePath) {
@@ -1,5 +1,6 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
@@ -12,6 +13,8 @@ public class ClientOptInput {
     private ClientOpts opts;
     private Swagger swagger;
     private List<AuthorizationValue> auths;
+    private GenerationReport report;
+    private GenerationOptions generationOptions;
 
     public ClientOptInput swagger(Swagger swagger) {
         this.setSwagger(swagger);
@@ -28,6 +31,22 @@ public class ClientOptInput {
         return this;
     }
 
+    /**
+     * Report the generator adds its metrics to, e.g. holding the time spent parsing the spec.
+     */
+    public ClientOptInput report(GenerationReport report) {
+        this.setReport(report);
+        return this;
+    }
+
+    /**
+     * Switches of this run, e.g. which files to generate. Without them the generator reads System properties.
+     */
+    public ClientOptInput generationOptions(GenerationOptions generationOptions) {
+        this.setGenerationOptions(generationOptions);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -73,4 +92,22 @@ public class ClientOptInput {
     public void setSwagger(Swagger swagger) {
         this.swagger = swagger;
     }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    public GenerationReport getReport() {
+        return report;
+    }
+
+    public void setReport(GenerationReport report) {
+        this.report = report;
+    }
+
+    @JsonIgnore
+    public GenerationOptions getGenerationOptions() {
+        return generationOptions;
+    }
+
+    public void setGenerationOptions(GenerationOptions generationOptions) {
+        this.generationOptions = generationOptions;
+    }
+}
@@ -1,9 +1,5 @@
 package io.swagger.codegen;
 
-import java.util.ServiceLoader;
-
-import static java.util.ServiceLoader.load;
-
 public class CodegenConfigLoader {
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
@@ -12,16 +8,15 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        CodegenConfig config = registry.newInstance(name);
+        if (config != null) {
+            return config;
+        }
 
         StringBuilder availableConfigs = new StringBuilder();
-
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
-            }
-
-            availableConfigs.append(config.getName()).append("\n");
+        for (String available : registry.getNames()) {
+            availableConfigs.append(available).append("\n");
         }
 
         // else try to load directly
@@ -0,0 +1,223 @@
+package io.swagger.codegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Index of the generators registered with {@link java.util.ServiceLoader} (<code>META-INF/services/io.swagger.codegen.CodegenConfig</code>).
+ * <p>
+ * The name and type of a generator are read from <code>META-INF/swagger-codegen/generators.properties</code>
+ * (class name = <code>name,TYPE</code>), so looking up or listing generators does not construct all of
+ * them. Registered generators missing from that file are constructed once when the index is built.
+ * Every lookup returns a new instance.
+ * <p>
+ * Registries are kept per class loader, and only hold their class loader weakly, so that the
+ * registry of a plugin or web application class loader does not keep it from being collected.
+ */
+public final class CodegenConfigRegistry {
+    public static final String SERVICES = "META-INF/services/" + CodegenConfig.class.getName();
+    public static final String INDEX = "META-INF/swagger-codegen/generators.properties";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigRegistry.class);
+    private static final Map<ClassLoader, CodegenConfigRegistry> REGISTRIES = new WeakHashMap<ClassLoader, CodegenConfigRegistry>();
+
+    // a strong reference from the value would keep the key of REGISTRIES alive
+    private final WeakReference<ClassLoader> classLoader;
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+
+    private CodegenConfigRegistry(ClassLoader classLoader) {
+        this.classLoader = new WeakReference<ClassLoader>(classLoader);
+        Properties index = new Properties();
+        for (URL url : getResources(classLoader, INDEX)) {
+            try (InputStream in = url.openStream()) {
+                Properties properties = new Properties();
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+                // the first definition of a class wins, as for services
+                for (String className : properties.stringPropertyNames()) {
+                    if (!index.containsKey(className)) {
+                        index.setProperty(className, properties.getProperty(className));
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read " + url, e);
+            }
+        }
+        for (String className : readServices(classLoader)) {
+            Entry entry = index.containsKey(className)
+                    ? Entry.parse(className, index.getProperty(className))
+                    : describe(className);
+            if (entry != null && !entries.containsKey(entry.getName())) {
+                entries.put(entry.getName(), entry);
+            }
+        }
+    }
+
+    /**
+     * @return the registry of the context class loader, which is also used by {@link java.util.ServiceLoader#load(Class)}
+     */
+    public static CodegenConfigRegistry getInstance() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        return getInstance(classLoader);
+    }
+
+    public static CodegenConfigRegistry getInstance(ClassLoader classLoader) {
+        synchronized (REGISTRIES) {
+            CodegenConfigRegistry registry = REGISTRIES.get(classLoader);
+            if (registry == null) {
+                registry = new CodegenConfigRegistry(classLoader);
+                REGISTRIES.put(classLoader, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * @return the registered generators, in the order of the service files
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<Entry>(entries.values()));
+    }
+
+    /**
+     * @param name generator name
+     * @return the generator, or null if no generator is registered with that name
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<String>(entries.keySet());
+    }
+
+    /**
+     * @param name generator name
+     * @return a new instance of the generator, or null if no generator is registered with that name
+     */
+    public CodegenConfig newInstance(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : instantiate(entry.getClassName());
+    }
+
+    private CodegenConfig instantiate(String className) {
+        try {
+            return (CodegenConfig) Class.forName(className, true, getClassLoader()).newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Could not instantiate generator " + className, e);
+        }
+    }
+
+    private Entry describe(String className) {
+        try {
+            CodegenConfig config = instantiate(className);
+            LOGGER.debug("Generator {} is not in {}", className, INDEX);
+            return new Entry(config.getName(), config.getTag(), className);
+        } catch (RuntimeException e) {
+            // ServiceLoader would fail on this generator, skip it to keep the others usable
+            LOGGER.warn(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private Set<String> readServices(ClassLoader classLoader) {
+        Set<String> classNames = new LinkedHashSet<String>();
+        for (URL url : getResources(classLoader, SERVICES)) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String className = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!className.isEmpty()) {
+                        classNames.add(className);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read " + url, e);
+            }
+        }
+        return classNames;
+    }
+
+    private ClassLoader getClassLoader() {
+        ClassLoader loader = classLoader.get();
+        if (loader == null) {
+            throw new IllegalStateException("The class loader of this registry was collected");
+        }
+        return loader;
+    }
+
+    static int size() {
+        synchronized (REGISTRIES) {
+            return REGISTRIES.size();
+        }
+    }
+
+    private static List<URL> getResources(ClassLoader classLoader, String name) {
+        try {
+            return Collections.list(classLoader.getResources(name));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + name, e);
+        }
+    }
+
+    /**
+     * A registered generator.
+     */
+    public static final class Entry {
+        private final String name;
+        private final CodegenType type;
+        private final String className;
+
+        Entry(String name, CodegenType type, String className) {
+            this.name = name;
+            this.type = type;
+            this.className = className;
+        }
+
+        static Entry parse(String className, String value) {
+            int comma = value.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Invalid entry for " + className + " in " + INDEX + ": " + value);
+            }
+            return new Entry(value.substring(0, comma).trim(),
+                    CodegenType.valueOf(value.substring(comma + 1).trim()), className);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CodegenType getType() {
+            return type;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        @Override
+        public String toString() {
+            return name + "," + type;
+        }
+    }
+}
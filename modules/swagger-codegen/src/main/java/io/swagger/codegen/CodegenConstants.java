@@ -199,4 +199,22 @@ public class CodegenConstants {
 
     public static final String REMOVE_OPERATION_ID_PREFIX = "removeOperationIdPrefix";
     public static final String REMOVE_OPERATION_ID_PREFIX_DESC = "Remove prefix of operationId, e.g. config_getId => getId";
+
+    public static final String GENERATOR_THREADS = "generatorThreads";
+    public static final String GENERATOR_THREADS_DESC = "Number of threads used to render model and api files. Default is 1 (serial rendering).";
+
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    public static final String INCREMENTAL_GENERATION_DESC = "Record a content-hash manifest in .swagger-codegen/manifest.json and skip rendering files whose inputs did not change since the last run.";
+
+    public static final String GENERATION_METRICS = "generationMetrics";
+    public static final String GENERATION_METRICS_DESC = "Log the time spent in each generation phase and write it to .swagger-codegen/metrics.json.";
+
+    public static final String EXAMPLE_NUMBERS = "exampleNumbers";
+    public static final String EXAMPLE_NUMBERS_DESC = "How response examples get numbers that have no example in the spec: 'seeded' (random numbers from a fixed seed, default) or 'deterministic' (middle of the allowed range, lets the examples of a model be cached).";
+
+    public static final String EXAMPLE_MAX_DEPTH = "exampleMaxDepth";
+    public static final String EXAMPLE_MAX_DEPTH_DESC = "Maximum number of nested models in a response example. Deeper models are left empty. No limit by default.";
+
+    public static final String EXAMPLE_MAX_SIZE = "exampleMaxSize";
+    public static final String EXAMPLE_MAX_SIZE_DESC = "Maximum number of values in a response example. Once reached, further models are left empty. No limit by default.";
 }
@@ -8,6 +8,7 @@ import java.util.TreeSet;
 import java.util.Objects;
 
 import io.swagger.models.ExternalDocs;
+import io.swagger.util.Json;
 
 
 public class CodegenModel {
@@ -21,6 +22,7 @@ public class CodegenModel {
 
     public String name, classname, title, description, classVarName, modelJson, dataType;
     public String classFilename; // store the class file name, mainly used for import
+    transient Object jsonSource; // model serialized to modelJson on first access
     public String unescapedDescription;
     public String discriminator;
     public String defaultValue;
@@ -56,6 +58,17 @@ public class CodegenModel {
         allMandatory = mandatory;
     }
 
+    /**
+     * @return the model schema as JSON. It is serialized from the swagger model on first access, as most
+     * templates do not use it.
+     */
+    public String getModelJson() {
+        if (modelJson == null && jsonSource != null) {
+            modelJson = Json.pretty(jsonSource);
+        }
+        return modelJson;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", name, classname);
@@ -88,7 +101,7 @@ public class CodegenModel {
             return false;
         if (classVarName != null ? !classVarName.equals(that.classVarName) : that.classVarName != null)
             return false;
-        if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
+        if (getModelJson() != null ? !getModelJson().equals(that.getModelJson()) : that.getModelJson() != null)
             return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
@@ -150,7 +163,7 @@ public class CodegenModel {
         result = 31 * result + (title != null ? title.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
-        result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (getModelJson() != null ? getModelJson().hashCode() : 0);
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (classFilename != null ? classFilename.hashCode() : 0);
         result = 31 * result + (unescapedDescription != null ? unescapedDescription.hashCode() : 0);
@@ -1,11 +1,15 @@
 package io.swagger.codegen;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates the codegen model objects. The type mapping is global to the JVM: configure it before
+ * starting generations, it applies to all of them.
+ */
 public final class CodegenModelFactory {
 
-    private static final Map<CodegenModelType, Class<?>> typeMapping = new HashMap<CodegenModelType, Class<?>>();
+    private static final Map<CodegenModelType, Class<?>> typeMapping = new ConcurrentHashMap<CodegenModelType, Class<?>>();
 
     /**
      * Configure a different implementation class.
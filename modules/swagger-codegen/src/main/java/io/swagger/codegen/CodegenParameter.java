@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,6 +16,7 @@ public class CodegenParameter {
 
     public String example; // example value (x-example)
     public String jsonSchema;
+    transient Object jsonSource; // serialized to jsonSchema on first access
     public boolean isString, isInteger, isLong, isFloat, isDouble, isByteArray, isBinary, isBoolean, isDate, isDateTime;
     public boolean isListContainer, isMapContainer;
     public boolean isFile, notFile;
@@ -114,6 +117,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSource = this.jsonSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -146,6 +150,17 @@ public class CodegenParameter {
         return output;
     }
 
+    /**
+     * @return the schema as JSON. It is serialized from the swagger parameter on first access, as most
+     * templates do not use it.
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSource != null) {
+            jsonSchema = Json.pretty(jsonSource);
+        }
+        return jsonSchema;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, dataType);
@@ -205,7 +220,7 @@ public class CodegenParameter {
             return false;
         if (example != null ? !example.equals(that.example) : that.example != null)
             return false;
-        if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
+        if (getJsonSchema() != null ? !getJsonSchema().equals(that.getJsonSchema()) : that.getJsonSchema() != null)
             return false;
         if (isString != that.isString)
             return false;
@@ -296,7 +311,7 @@ public class CodegenParameter {
         result = 31 * result + (baseType != null ? baseType.hashCode() : 0);
         result = 31 * result + (defaultValue != null ? defaultValue.hashCode() : 0);
         result = 31 * result + (example != null ? example.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (getJsonSchema() != null ? getJsonSchema().hashCode() : 0);
         result = 31 * result + (isString ? 13:31);
         result = 31 * result + (isInteger ? 13:31);
         result = 31 * result + (isLong ? 13:31);
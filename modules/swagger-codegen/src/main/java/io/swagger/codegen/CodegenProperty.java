@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +34,7 @@ public class CodegenProperty implements Cloneable {
     public String example;
 
     public String jsonSchema;
+    transient Object jsonSource; // serialized to jsonSchema on first access
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -56,6 +59,17 @@ public class CodegenProperty implements Cloneable {
     public Integer minItems;
 
 
+    /**
+     * @return the schema as JSON. It is serialized from the swagger property on first access, as most
+     * templates do not use it.
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSource != null) {
+            jsonSchema = Json.pretty(jsonSource);
+        }
+        return jsonSchema;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, datatype);
@@ -92,7 +106,7 @@ public class CodegenProperty implements Cloneable {
         result = prime * result + ((isPrimitiveType  ? 13:31));
         result = prime * result + ((isReadOnly  ? 13:31));
         result = prime * result + ((items == null) ? 0 : items.hashCode());
-        result = prime * result + ((jsonSchema == null) ? 0 : jsonSchema.hashCode());
+        result = prime * result + ((getJsonSchema() == null) ? 0 : getJsonSchema().hashCode());
         result = prime * result + ((max == null) ? 0 : max.hashCode());
         result = prime * result + ((maxLength == null) ? 0 : maxLength.hashCode());
         result = prime * result + ((maximum == null) ? 0 : maximum.hashCode());
@@ -194,7 +208,7 @@ public class CodegenProperty implements Cloneable {
         if ((this.example == null) ? (other.example != null) : !this.example.equals(other.example)) {
             return false;
         }
-        if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
+        if ((this.getJsonSchema() == null) ? (other.getJsonSchema() != null) : !this.getJsonSchema().equals(other.getJsonSchema())) {
             return false;
         }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -21,12 +23,24 @@ public class CodegenResponse {
     public boolean isFile = false;
     public Object schema;
     public String jsonSchema;
+    transient Object jsonSource; // serialized to jsonSchema on first access
     public Map<String, Object> vendorExtensions;
 
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
 
+    /**
+     * @return the schema as JSON. It is serialized from the swagger response on first access, as most
+     * templates do not use it.
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSource != null) {
+            jsonSchema = Json.pretty(jsonSource);
+        }
+        return jsonSchema;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", code, containerType);
@@ -73,7 +87,7 @@ public class CodegenResponse {
             return false;
         if (vendorExtensions != null ? !vendorExtensions.equals(that.vendorExtensions) : that.vendorExtensions != null)
             return false;
-        return jsonSchema != null ? jsonSchema.equals(that.jsonSchema) : that.jsonSchema == null;
+        return getJsonSchema() != null ? getJsonSchema().equals(that.getJsonSchema()) : that.getJsonSchema() == null;
 
     }
 
@@ -95,7 +109,7 @@ public class CodegenResponse {
         result = 31 * result + (isBinary ? 13:31);
         result = 31 * result + (isFile ? 13:31);
         result = 31 * result + (schema != null ? schema.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (getJsonSchema() != null ? getJsonSchema().hashCode() : 0);
         result = 31 * result + (vendorExtensions != null ? vendorExtensions.hashCode() : 0);
         return result;
     }
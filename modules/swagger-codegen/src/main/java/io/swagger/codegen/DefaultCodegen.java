@@ -56,6 +56,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -65,16 +67,37 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DefaultCodegen {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
+
+    // the naming functions run for every model, property, parameter and operation: their patterns
+    // are compiled once and their results are memoized (the caches are reset when they get full)
+    private static final int NAME_CACHE_SIZE = 10000;
+    private static final Pattern CAMELIZE_SLASH_PATTERN = Pattern.compile("\\/(.?)");
+    private static final Pattern CAMELIZE_CLASS_NAME_PATTERN = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern CAMELIZE_UNDERSCORE_PATTERN = Pattern.compile("(_)(.)");
+    private static final Pattern CAMELIZE_HYPHEN_PATTERN = Pattern.compile("(-)(.)");
+    private static final Pattern DOLLAR_PATTERN = Pattern.compile("\\$");
+    private static final Pattern UNDERSCORE_FIRST_PATTERN = Pattern.compile("([A-Z]+)([A-Z][a-z])");
+    private static final Pattern UNDERSCORE_SECOND_PATTERN = Pattern.compile("([a-z\\d])([A-Z])");
+    private static final Pattern UNICODE_NON_WORD_PATTERN = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern TRAILING_NUMBER_PATTERN = Pattern.compile("\\d+\\z");
+    private static final ConcurrentMap<String, String> camelizeCache = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> lowerCamelizeCache = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> underscoreCache = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> sanitizedNameCache = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> unicodeSanitizedNameCache = new ConcurrentHashMap<String, String>();
     
     protected String inputSpec;
     protected String outputFolder = "";
@@ -121,6 +144,12 @@ public class DefaultCodegen {
     protected Map<String, String> typeAliases = new HashMap<>();
 
     protected String ignoreFilePathOverride;
+    // where the generation writes its files, see writeOutputFile
+    private OutputSink outputSink = new FileOutputSink();
+
+    // response examples of the current definitions, reused for all operations
+    private ExampleGenerator exampleGenerator;
+    private Map<String, Model> exampleDefinitions;
 
     public List<CliOption> cliOptions() {
         return cliOptions;
@@ -168,6 +197,45 @@ public class DefaultCodegen {
         }
     }
 
+    /**
+     * Returns the generator of response examples for the given definitions. The same generator is
+     * used for all operations of a run, so that with deterministic numbers the examples of referenced
+     * models are only resolved once.
+     *
+     * @param definitions model definitions of the spec
+     * @return the example generator
+     */
+    protected ExampleGenerator getExampleGenerator(Map<String, Model> definitions) {
+        if (exampleGenerator == null || exampleDefinitions != definitions) {
+            exampleGenerator = new ExampleGenerator(definitions);
+            exampleDefinitions = definitions;
+            Object numbers = additionalProperties.get(CodegenConstants.EXAMPLE_NUMBERS);
+            if (numbers != null) {
+                try {
+                    exampleGenerator.setNumberMode(ExampleGenerator.NumberMode.valueOf(numbers.toString().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException(CodegenConstants.EXAMPLE_NUMBERS + " should be 'seeded' or 'deterministic': " + numbers);
+                }
+            }
+            if (additionalProperties.containsKey(CodegenConstants.EXAMPLE_MAX_DEPTH)) {
+                exampleGenerator.setMaxDepth(getIntOption(CodegenConstants.EXAMPLE_MAX_DEPTH));
+            }
+            if (additionalProperties.containsKey(CodegenConstants.EXAMPLE_MAX_SIZE)) {
+                exampleGenerator.setMaxSize(getIntOption(CodegenConstants.EXAMPLE_MAX_SIZE));
+            }
+        }
+        return exampleGenerator;
+    }
+
+    private int getIntOption(String name) {
+        Object value = additionalProperties.get(name);
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException(name + " should be a number: " + value);
+        }
+    }
+
     // override with any special post-processing for all models
     @SuppressWarnings({ "static-method", "unchecked" })
     public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
@@ -1289,7 +1357,7 @@ public class DefaultCodegen {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(model);
+        m.jsonSource = model;
         m.externalDocs = model.getExternalDocs();
         m.vendorExtensions = model.getVendorExtensions();
 
@@ -1515,7 +1583,7 @@ public class DefaultCodegen {
         }
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        property.jsonSource = p;
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2123,7 +2191,7 @@ public class DefaultCodegen {
                             op.returnBaseType = cm.baseType;
                         }
                     }
-                    op.examples = new ExampleGenerator(definitions).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
+                    op.examples = getExampleGenerator(definitions).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
                     op.defaultResponse = toDefaultValue(responseProperty);
                     op.returnType = cm.datatype;
                     op.hasReference = definitions != null && definitions.containsKey(op.returnBaseType);
@@ -2279,7 +2347,7 @@ public class DefaultCodegen {
         r.message = escapeText(response.getDescription());
         r.schema = response.getSchema();
         r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        r.jsonSource = response;
         r.vendorExtensions = response.getVendorExtensions();
         addHeaders(response, r.headers);
         r.hasHeaders = !r.headers.isEmpty();
@@ -2362,7 +2430,7 @@ public class DefaultCodegen {
         if (param.getRequired()) {
             p.required = param.getRequired();
         }
-        p.jsonSchema = Json.pretty(param);
+        p.jsonSource = param;
 
         if (System.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + param.getName());
@@ -2920,19 +2988,21 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        word = word.toLowerCase();
-        return word;
+        String underscored = underscoreCache.get(word);
+        if (underscored == null) {
+            String replacementPattern = "$1_$2";
+            // Replace package separator with slash.
+            underscored = word.replace('.', '/');
+            // Replace $ with two underscores for inner classes.
+            underscored = StringUtils.replace(underscored, "$", "__");
+            // Replace capital letter with _ plus lowercase letter.
+            underscored = UNDERSCORE_FIRST_PATTERN.matcher(underscored).replaceAll(replacementPattern);
+            underscored = UNDERSCORE_SECOND_PATTERN.matcher(underscored).replaceAll(replacementPattern);
+            underscored = underscored.replace('-', '_');
+            underscored = underscored.toLowerCase();
+            cacheName(underscoreCache, word, underscored);
+        }
+        return underscored;
     }
 
     /**
@@ -2957,8 +3027,7 @@ public class DefaultCodegen {
      * @return The next name for the base name
      */
     private static String generateNextName(String name) {
-        Pattern pattern = Pattern.compile("\\d+\\z");
-        Matcher matcher = pattern.matcher(name);
+        Matcher matcher = TRAILING_NUMBER_PATTERN.matcher(name);
         if (matcher.find()) {
             String numStr = matcher.group();
             int num = Integer.parseInt(numStr) + 1;
@@ -3121,8 +3190,18 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
+        ConcurrentMap<String, String> cache = lowercaseFirstLetter ? lowerCamelizeCache : camelizeCache;
+        String camelized = cache.get(word);
+        if (camelized == null) {
+            camelized = doCamelize(word, lowercaseFirstLetter);
+            cacheName(cache, word, camelized);
+        }
+        return camelized;
+    }
+
+    private static String doCamelize(String word, boolean lowercaseFirstLetter) {
         // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
+        Pattern p = CAMELIZE_SLASH_PATTERN;
         Matcher m = p.matcher(word);
         while (m.find()) {
             word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
@@ -3146,22 +3225,23 @@ public class DefaultCodegen {
         }
 
         // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        p = CAMELIZE_CLASS_NAME_PATTERN;
         m = p.matcher(word);
         if (m.find()) {
             String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
+            rep = DOLLAR_PATTERN.matcher(rep).replaceAll("\\\\\\$");
             word = m.replaceAll(rep);
         }
 
         // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
+        p = CAMELIZE_UNDERSCORE_PATTERN;
         m = p.matcher(word);
         while (m.find()) {
             String original = m.group(2);
             String upperCase = original.toUpperCase();
             if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
+                int underscore = word.indexOf('_');
+                word = word.substring(0, underscore) + word.substring(underscore + 1);
             } else {
                 word = m.replaceFirst(upperCase);
             }
@@ -3169,7 +3249,7 @@ public class DefaultCodegen {
         }
 
         // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
+        p = CAMELIZE_HYPHEN_PATTERN;
         m = p.matcher(word);
         while (m.find()) {
             word = m.replaceFirst(m.group(2).toUpperCase());
@@ -3183,6 +3263,13 @@ public class DefaultCodegen {
         return word;
     }
 
+    private static void cacheName(ConcurrentMap<String, String> cache, String name, String value) {
+        if (cache.size() >= NAME_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(name, value);
+    }
+
     public String apiFilename(String templateName, String tag) {
         String suffix = apiTemplateFiles().get(templateName);
         return apiFileFolder() + '/' + toApiFilename(tag) + suffix;
@@ -3215,10 +3302,10 @@ public class DefaultCodegen {
     }
 
     public boolean shouldOverwrite(String filename) {
-        return !(skipOverwrite && new File(filename).exists());
+        return !(skipOverwrite && outputSink.exists(new File(filename)));
     }
 
-    public boolean shouldSkipModelProcess(String filename, String templateName, Map<String, Object> objs) { return (skipOverwrite && new File(filename).exists()); }
+    public boolean shouldSkipModelProcess(String filename, String templateName, Map<String, Object> objs) { return (skipOverwrite && outputSink.exists(new File(filename))); }
 
     public boolean isSkipOverwrite() {
         return skipOverwrite;
@@ -3354,11 +3441,6 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (name == null) {
             LOGGER.error("String to be sanitized is null. Default to ERROR_UNKNOWN");
@@ -3370,35 +3452,56 @@ public class DefaultCodegen {
             return "value";
         }
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { // could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        } else {
-            name = name.replaceAll("\\W", "");
+        ConcurrentMap<String, String> cache = allowUnicodeIdentifiers ? unicodeSanitizedNameCache : sanitizedNameCache;
+        String sanitized = cache.get(name);
+        if (sanitized == null) {
+            sanitized = doSanitizeName(name, allowUnicodeIdentifiers);
+            cacheName(cache, name, sanitized);
         }
+        return sanitized;
+    }
 
-        return name;
+    // Single pass over the name instead of a chain of replaceAll calls. The cases we've encountered
+    // so far are spelled out so that it is easy to add more special cases in the future.
+    private static String doSanitizeName(String name, boolean allowUnicodeIdentifiers) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '[':
+                    if (i + 1 < name.length() && name.charAt(i + 1) == ']') {
+                        // input[] => input
+                        i++;
+                    } else {
+                        // input[a][b] => input_a_b
+                        sb.append('_');
+                    }
+                    break;
+                case ']':
+                case ')':
+                    break;
+                // input(a)(b) => input_a_b
+                case '(':
+                // input.name => input_name
+                case '.':
+                // input-name => input_name
+                case '-':
+                // input name and age => input_name_and_age
+                case ' ':
+                    sb.append('_');
+                    break;
+                default:
+                    // remove everything else other than word, number and _
+                    // $php_variable => php_variable
+                    if (allowUnicodeIdentifiers || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_') {
+                        sb.append(c);
+                    }
+            }
+        }
+        if (allowUnicodeIdentifiers) {
+            return UNICODE_NON_WORD_PATTERN.matcher(sb).replaceAll("");
+        }
+        return sb.toString();
     }
 
     /**
@@ -3612,6 +3715,29 @@ public class DefaultCodegen {
         this.ignoreFilePathOverride = ignoreFileOverride;
     }
 
+    /**
+     * @return the destination of the generated files, set by the generator
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    /**
+     * Write a file that is not rendered from a template, e.g. a copy of the spec, to the
+     * destination of the generated files.
+     *
+     * @param filename File name
+     * @param contents File contents
+     * @throws IOException if the file cannot be written
+     */
+    protected void writeOutputFile(String filename, String contents) throws IOException {
+        outputSink.write(new File(filename), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
     public boolean convertPropertyToBoolean(String propertyKey) {
         boolean booleanValue = false;
         if (additionalProperties.containsKey(propertyKey)) {
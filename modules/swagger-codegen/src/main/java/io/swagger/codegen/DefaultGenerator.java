@@ -4,6 +4,7 @@ import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
 import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.codegen.utils.PositionUtils;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
 import io.swagger.models.*;
 import io.swagger.models.auth.OAuth2Definition;
@@ -17,10 +18,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Generates the files of one {@link ClientOptInput}.
+ * <p>
+ * A generator instance is used for a single run. Several runs can proceed concurrently on different
+ * threads, each with its own generator, {@link CodegenConfig} instance and {@link Swagger}: the state
+ * shared between runs (template and name caches, generator registry) is thread-safe. Use
+ * {@link GenerationOptions#setUseSystemProperties(boolean)} so that System properties set for one run
+ * do not apply to the others.
+ */
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
     protected CodegenConfig config;
@@ -37,6 +55,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePath;
     private String basePathWithoutHost;
     private String contextPath;
+    private TemplateCache templateCache = TemplateCache.getShared();
+    private GenerationManifest manifest;
+    private final ConcurrentMap<String, String> templateHashes = new ConcurrentHashMap<String, String>();
+    private ExecutorService renderExecutor;
+    private final List<Future<File>> pendingRenders = new ArrayList<Future<File>>();
+    private GenerationReport report = new GenerationReport();
+    private GenerationOptions generationOptions = new GenerationOptions();
+    private volatile PartialLoader partialLoader;
+
+    private final TemplateCache.SourceLoader templateSourceLoader = new TemplateCache.SourceLoader() {
+        @Override
+        public String load(String templateFile) {
+            return readTemplate(templateFile);
+        }
+    };
 
     @Override
     public Generator opts(ClientOptInput opts) {
@@ -44,6 +77,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.swagger = opts.getSwagger();
         this.config = opts.getConfig();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.generationOptions = opts.getGenerationOptions() != null ? opts.getGenerationOptions() : new GenerationOptions();
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if(ignoreFileLocation != null) {
@@ -91,30 +125,20 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private void configureGeneratorProperties() {
 
         // allows generating only models by specifying a CSV of models to generate, or empty for all
-        generateApis = System.getProperty("apis") != null ? true:null;
-        generateModels = System.getProperty("models") != null ? true: null;
-        generateSupportingFiles = System.getProperty("supportingFiles") != null ? true:null;
-
-        if (generateApis == null && generateModels == null && generateSupportingFiles == null) {
+        if (!generationOptions.isSelective()) {
             // no specifics are set, generate everything
             generateApis = generateModels = generateSupportingFiles = true;
         } else {
-            if(generateApis == null) {
-                generateApis = false;
-            }
-            if(generateModels == null) {
-                generateModels = false;
-            }
-            if(generateSupportingFiles == null) {
-                generateSupportingFiles = false;
-            }
+            generateApis = generationOptions.getApis() != null;
+            generateModels = generationOptions.getModels() != null;
+            generateSupportingFiles = generationOptions.getSupportingFiles() != null;
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        generateModelTests = System.getProperty("modelTests") != null ? Boolean.valueOf(System.getProperty("modelTests")): true;
-        generateModelDocumentation = System.getProperty("modelDocs") != null ? Boolean.valueOf(System.getProperty("modelDocs")):true;
-        generateApiTests = System.getProperty("apiTests") != null ? Boolean.valueOf(System.getProperty("apiTests")): true;
-        generateApiDocumentation = System.getProperty("apiDocs") != null ? Boolean.valueOf(System.getProperty("apiDocs")):true;
+        generateModelTests = generationOptions.isModelTests();
+        generateModelDocumentation = generationOptions.isModelDocs();
+        generateApiTests = generationOptions.isApiTests();
+        generateApiDocumentation = generationOptions.isApiDocs();
 
 
         // Additional properties added for tests to exclude references in project related files
@@ -127,7 +151,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if(!generateApiTests && !generateModelTests) {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
-        if (System.getProperty("debugSwagger") != null) {
+        if (generationOptions.isDebugSwagger()) {
             Json.prettyPrint(swagger);
         }
         config.processOpts();
@@ -198,24 +222,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
     }
 
-    private void generateModelTests(List<File> files, Map<String, Object> models, String modelName) throws IOException{
+    private void generateModelTests(List<File> files, Map<String, Object> models, String modelName, String inputHash) throws IOException{
         // to generate model test files
         for (String templateName : config.modelTestTemplateFiles().keySet()) {
             String suffix = config.modelTestTemplateFiles().get(templateName);
             String filename = config.modelTestFileFolder() + File.separator + config.toModelTestFilename(modelName) + suffix;
             // do not overwrite test file that already exists
-            if (new File(filename).exists()) {
+            if (getOutputSink().exists(new File(filename))) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            renderTemplate(files, models, templateName, filename, inputHash);
         }
     }
 
-    private void generateModelDocumentation(List<File> files, Map<String, Object> models, String modelName) throws IOException {
+    private void generateModelDocumentation(List<File> files, Map<String, Object> models, String modelName, String inputHash) throws IOException {
         for (String templateName : config.modelDocTemplateFiles().keySet()) {
             String suffix = config.modelDocTemplateFiles().get(templateName);
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
@@ -223,16 +244,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 LOGGER.info("Skipped overwriting " + filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            renderTemplate(files, models, templateName, filename, inputHash);
         }
     }
 
     private void generateModels(List<File> files, List<Object> allModels) {
 
-        if (!generateModels) {
+        if (!generateModels && !generationOptions.isProcessAll()) {
             return;
         }
 
@@ -241,14 +259,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = System.getProperty("models");
-        Set<String> modelsToGenerate = null;
-        if(modelNames != null && !modelNames.isEmpty()) {
-            modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
-        }
+        final Set<String> modelsToGenerate = generationOptions.getModels();
 
         Set<String> modelKeys = definitions.keySet();
-        if(modelsToGenerate != null && !modelsToGenerate.isEmpty()) {
+        if(!generationOptions.isProcessAll() && modelsToGenerate != null && !modelsToGenerate.isEmpty()) {
             Set<String> updatedKeys = new HashSet<String>();
             for(String m : modelKeys) {
                 if(modelsToGenerate.contains(m)) {
@@ -310,6 +324,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         });
 
         // process models only
+        GenerationReport.Timer fromModelTimer = report.start(GenerationReport.FROM_MODEL);
         for (String name : modelKeys) {
             try {
                 //don't generate models that have an import mapping
@@ -329,8 +344,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
+        fromModelTimer.stop();
+
         // post process all processed models
+        GenerationReport.Timer postProcessTimer = report.start(GenerationReport.POST_PROCESS_MODELS);
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        postProcessTimer.stop();
 
         // generate files based on processed models
         for (String modelName: allProcessedModels.keySet()) {
@@ -351,6 +370,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 }
                 allModels.add(modelTemplate);
+                if (!isSelected(generateModels, modelsToGenerate, modelName)) {
+                    continue;
+                }
+                String inputHash = manifest != null ? manifest.getModelInputHash(modelName) : null;
                 for (String templateName : config.modelTemplateFiles().keySet()) {
                     String suffix = config.modelTemplateFiles().get(templateName);
                     String filename = config.toModelFileFolder(modelName, templateName) + File.separator + config.toModelFilename(modelName) + suffix;
@@ -362,23 +385,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         LOGGER.info("Skipped model process " + filename);
                         continue;
                     }
-                    File written = processTemplateToFile(models, templateName, filename);
-                    if(written != null) {
-                        files.add(written);
-                    }
+                    renderTemplate(files, models, templateName, filename, inputHash);
                 }
                 if(generateModelTests) {
-                    generateModelTests(files, models, modelName);
+                    generateModelTests(files, models, modelName, inputHash);
                 }
                 if(generateModelDocumentation) {
                     // to generate model documentation files
-                    generateModelDocumentation(files, models, modelName);
+                    generateModelDocumentation(files, models, modelName, inputHash);
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
-        if (System.getProperty("debugModels") != null) {
+        awaitRenders(files);
+        if (generationOptions.isDebugModels()) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
@@ -386,16 +407,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     }
 
     private void generateApis(List<File> files, List<Object> allOperations) {
-        if (!generateApis) {
+        if (!generateApis && !generationOptions.isProcessAll()) {
             return;
         }
+        GenerationReport.Timer fromOperationTimer = report.start(GenerationReport.FROM_OPERATION);
         Map<String, List<CodegenOperation>> paths = processPaths(swagger.getPaths());
-        Set<String> apisToGenerate = null;
-        String apiNames = System.getProperty("apis");
-        if(apiNames != null && !apiNames.isEmpty()) {
-            apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
-        }
-        if(apisToGenerate != null && !apisToGenerate.isEmpty()) {
+        fromOperationTimer.stop();
+        Set<String> apisToGenerate = generationOptions.getApis();
+        if(!generationOptions.isProcessAll() && apisToGenerate != null && !apisToGenerate.isEmpty()) {
             Map<String, List<CodegenOperation>> updatedPaths = new TreeMap<String, List<CodegenOperation>>();
             for(String m : paths.keySet()) {
                 if(apisToGenerate.contains(m)) {
@@ -413,7 +432,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
+                GenerationReport.Timer postProcessTimer = report.start(GenerationReport.POST_PROCESS_OPERATIONS);
                 Map<String, Object> operation = processOperations(config, tag, ops);
+                postProcessTimer.stop();
 
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", basePathWithoutHost);
@@ -441,24 +462,19 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 processMimeTypes(swagger.getProduces(), operation, "produces");
 
                 allOperations.add(new HashMap<String, Object>(operation));
-                for (int i = 0; i < allOperations.size(); i++) {
-                    Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
-                    if (i < (allOperations.size() - 1)) {
-                        oo.put("hasMore", "true");
-                    }
+                if (!isSelected(generateApis, apisToGenerate, tag)) {
+                    continue;
                 }
+                String inputHash = manifest != null ? manifest.getApiInputHash(ops) : null;
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
                     String filename = config.apiFilename(templateName, tag);
-                    if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                    if (!config.shouldOverwrite(filename) && getOutputSink().exists(new File(filename))) {
                         LOGGER.info("Skipped overwriting " + filename);
                         continue;
                     }
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if(written != null) {
-                        files.add(written);
-                    }
+                    renderTemplate(files, operation, templateName, filename, inputHash);
                 }
 
                 if(generateApiTests) {
@@ -466,15 +482,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     for (String templateName : config.apiTestTemplateFiles().keySet()) {
                         String filename = config.apiTestFilename(templateName, tag);
                         // do not overwrite test file that already exists
-                        if (new File(filename).exists()) {
+                        if (getOutputSink().exists(new File(filename))) {
                             LOGGER.info("File exists. Skipped overwriting " + filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        renderTemplate(files, operation, templateName, filename, inputHash);
                     }
                 }
 
@@ -483,15 +496,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     // to generate api documentation files
                     for (String templateName : config.apiDocTemplateFiles().keySet()) {
                         String filename = config.apiDocFilename(templateName, tag);
-                        if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                        if (!config.shouldOverwrite(filename) && getOutputSink().exists(new File(filename))) {
                             LOGGER.info("Skipped overwriting " + filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        renderTemplate(files, operation, templateName, filename, inputHash);
                     }
                 }
 
@@ -499,22 +509,25 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
-        if (System.getProperty("debugOperations") != null) {
+        awaitRenders(files);
+        PositionUtils.setHasMore((List<Map<String, Object>>) (List<?>) allOperations);
+        if (generationOptions.isDebugOperations()) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
 
     }
 
+    // with GenerationOptions.isProcessAll() unselected models and apis are processed, but not rendered
+    private static boolean isSelected(boolean generate, Set<String> selection, String name) {
+        return generate && (selection == null || selection.isEmpty() || selection.contains(name));
+    }
+
     private void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
         if (!generateSupportingFiles) {
             return;
         }
-        Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = System.getProperty("supportingFiles");
-        if(supportingFiles!= null && !supportingFiles.isEmpty()) {
-            supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
-        }
+        Set<String> supportingFilesToGenerate = generationOptions.getSupportingFiles();
 
         for (SupportingFile support : config.supportingFiles()) {
             try {
@@ -522,10 +535,6 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 if (StringUtils.isNotEmpty(support.folder)) {
                     outputFolder += File.separator + support.folder;
                 }
-                File of = new File(outputFolder);
-                if (!of.isDirectory()) {
-                    of.mkdirs();
-                }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
@@ -547,21 +556,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 if(ignoreProcessor.allowsFile(new File(outputFilename))) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
-                        files.add(new File(outputFilename));
+                        String inputHash = manifest != null ? manifest.getSupportingFileInputHash() : null;
+                        files.add(renderToFile(bundle, templateFile, outputFilename, inputHash));
                     } else {
                         InputStream in = null;
 
@@ -574,11 +570,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
                         }
                         File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
                         if (in != null) {
-                            LOGGER.info("writing file " + outputFile);
-                            IOUtils.copy(in, out);
-                            out.close();
+                            try {
+                                writeToFile(outputFilename, IOUtils.toByteArray(in));
+                            } finally {
+                                in.close();
+                            }
                         } else {
                             LOGGER.error("can't open " + templateFile + " for input");
                         }
@@ -597,7 +594,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         final String swaggerCodegenIgnore = ".swagger-codegen-ignore";
         String ignoreFileNameTarget = config.outputFolder() + File.separator + swaggerCodegenIgnore;
         File ignoreFile = new File(ignoreFileNameTarget);
-        if(!ignoreFile.exists()) {
+        if(!getOutputSink().exists(ignoreFile)) {
             String ignoreFileNameSource = File.separator + config.getCommonTemplateDir() + File.separator +  swaggerCodegenIgnore;
             String ignoreFileContents = readResourceContents(ignoreFileNameSource);
             try {
@@ -667,15 +664,17 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger.getExternalDocs() != null) {
             bundle.put("externalDocs", swagger.getExternalDocs());
         }
-        for (int i = 0; i < allModels.size() - 1; i++) {
-            HashMap<String, CodegenModel> cm = (HashMap<String, CodegenModel>) allModels.get(i);
-            CodegenModel m = cm.get("model");
-            m.hasMoreModels = true;
-        }
+        PositionUtils.forEachPosition(allModels, new PositionUtils.Visitor<Object>() {
+            @Override
+            public void visit(Object item, int index, boolean first, boolean last) {
+                CodegenModel m = ((Map<String, CodegenModel>) item).get("model");
+                m.hasMoreModels = !last;
+            }
+        });
 
         config.postProcessSupportingFileData(bundle);
 
-        if (System.getProperty("debugSupportingFiles") != null) {
+        if (generationOptions.isDebugSupportingFiles()) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -688,70 +687,286 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
+        long start = System.nanoTime();
+        report = opts != null && opts.getReport() != null ? opts.getReport() : new GenerationReport();
+        GenerationReport.Timer configureTimer = report.start(GenerationReport.CONFIGURE);
+        if (config instanceof DefaultCodegen) {
+            // for the files that generators write themselves
+            ((DefaultCodegen) config).setOutputSink(getOutputSink());
+        }
+        // the manifest describes files on disk
+        String specHash = isIncrementalGeneration() && getOutputSink() instanceof FileOutputSink
+                ? GenerationManifest.hashSharedSpec(swagger) : null;
         configureGeneratorProperties();
         configureSwaggerInfo();
+        // the template dir is known once the options are processed
+        templateCache.revalidate(config.templateDir());
+        if (specHash != null) {
+            manifest = GenerationManifest.load(config.outputFolder(), GenerationManifest.computeInputHash(config, specHash));
+        }
+        configureTimer.stop();
 
         // resolve inline models
+        GenerationReport.Timer flattenTimer = report.start(GenerationReport.FLATTEN);
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
         inlineModelResolver.flatten(swagger);
+        flattenTimer.stop();
+        if (manifest != null) {
+            manifest.index(swagger);
+        }
 
         List<File> files = new ArrayList<File>();
-        // models
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
+        int threads = getGeneratorThreads();
+        if (threads > 1) {
+            LOGGER.info("Rendering model and api files with " + threads + " threads");
+            renderExecutor = Executors.newFixedThreadPool(threads);
+        }
+        try {
+            // models
+            List<Object> allModels = new ArrayList<Object>();
+            generateModels(files, allModels);
+            // apis
+            List<Object> allOperations = new ArrayList<Object>();
+            generateApis(files, allOperations);
+
+            // supporting files
+            GenerationReport.Timer supportingFileDataTimer = report.start(GenerationReport.SUPPORTING_FILE_DATA);
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            supportingFileDataTimer.stop();
+            generateSupportingFiles(files, bundle);
+            writeManifest(files);
+        } finally {
+            if (renderExecutor != null) {
+                renderExecutor.shutdownNow();
+                renderExecutor = null;
+            }
+            pendingRenders.clear();
+            manifest = null;
+        }
         config.processSwagger(swagger);
+        report.setTotalTimeNanos(System.nanoTime() - start);
+        writeMetrics();
         return files;
     }
 
-    private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
+    /**
+     * @return the metrics of the last generation run
+     */
+    public GenerationReport getReport() {
+        return report;
+    }
+
+    private boolean isGenerationMetrics() {
+        Object metrics = config.additionalProperties().get(CodegenConstants.GENERATION_METRICS);
+        return metrics != null && Boolean.valueOf(metrics.toString());
+    }
+
+    /**
+     * Log the report and write it to <code>.swagger-codegen/metrics.json</code> if generation
+     * metrics are enabled. The metrics file is not part of the generated files.
+     */
+    private void writeMetrics() {
+        if (!isGenerationMetrics()) {
+            return;
+        }
+        LOGGER.info("Generation metrics:\n" + report.toSummary());
+        File metricsFile = new File(new File(config.outputFolder(), GenerationManifest.METADATA_FOLDER), GenerationReport.FILENAME);
+        try {
+            getOutputSink().write(metricsFile, report.toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write generation metrics '" + metricsFile + "'", e);
+        }
+    }
+
+    private boolean isIncrementalGeneration() {
+        Object incremental = config.additionalProperties().get(CodegenConstants.INCREMENTAL_GENERATION);
+        return incremental != null && Boolean.valueOf(incremental.toString());
+    }
+
+    private void writeManifest(List<File> files) {
+        if (manifest == null) {
+            return;
+        }
+        File manifestFile = manifest.getManifestFile();
+        try {
+            writeToFile(manifestFile.getPath(), manifest.toJson());
+            files.add(manifestFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not generate supporting file '" + manifestFile + "'", e);
+        }
+    }
+
+    private int getGeneratorThreads() {
+        Object threads = config.additionalProperties().get(CodegenConstants.GENERATOR_THREADS);
+        if (threads == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(threads.toString().trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value for " + CodegenConstants.GENERATOR_THREADS + ": " + threads + ". Falling back to serial rendering.");
+            return 1;
+        }
+    }
+
+    /**
+     * Render a template to a file. Without a render executor the file is written right away,
+     * otherwise the work is queued and the result is added to the list by {@link #awaitRenders(List)},
+     * so the resulting file list keeps the same order as a serial run.
+     */
+    private void renderTemplate(List<File> files, final Map<String, Object> templateData, final String templateName, final String outputFilename, final String inputHash) throws IOException {
+        if (renderExecutor == null) {
+            File written = processTemplateToFile(templateData, templateName, outputFilename, inputHash);
+            if (written != null) {
+                files.add(written);
+            }
+            return;
+        }
+        pendingRenders.add(renderExecutor.submit(new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                try {
+                    return processTemplateToFile(templateData, templateName, outputFilename, inputHash);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate file '" + outputFilename + "'", e);
+                }
+            }
+        }));
+    }
+
+    private void awaitRenders(List<File> files) {
+        try {
+            for (Future<File> pending : pendingRenders) {
+                File written = pending.get();
+                if (written != null) {
+                    files.add(written);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering templates", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pendingRenders.clear();
+        }
+    }
+
+    private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, String inputHash) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if(ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+            return renderToFile(templateData, templateFile, adjustedOutputFilename, inputHash);
         }
 
         LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
         return null;
     }
 
+    /**
+     * Render the template to the given file. With incremental generation enabled, a file that is
+     * up to date according to the manifest of the previous run is not rendered again, given its
+     * input hash from the manifest.
+     * The template output is streamed to the file rather than rendered to a string first.
+     */
+    private File renderToFile(final Object templateData, String templateFile, String outputFilename, String inputHash) throws IOException {
+        File output = new File(outputFilename);
+        String templateHash = null;
+        if (manifest != null) {
+            templateHash = getTemplateHash(templateFile);
+            if (manifest.isUpToDate(output, inputHash, templateHash)) {
+                LOGGER.info("Skipped up-to-date " + outputFilename);
+                return output;
+            }
+        }
+        GenerationReport.Timer compileTimer = report.start(GenerationReport.COMPILE_TEMPLATES);
+        final Template tmpl = compileTemplate(templateFile);
+        compileTimer.stop();
+        GenerationReport.Timer renderTimer = report.start(GenerationReport.RENDER);
+        try {
+            writeToFile(outputFilename, new ContentWriter() {
+                @Override
+                public void writeTo(Writer out) {
+                    tmpl.execute(templateData, out);
+                }
+            });
+        } finally {
+            renderTimer.stop();
+        }
+        if (manifest != null) {
+            manifest.record(output, inputHash, templateHash);
+        }
+        return output;
+    }
+
+    @Override
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        GenerationReport.Timer timer = report.start(GenerationReport.WRITE);
+        try {
+            return super.writeToFile(filename, contents);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Override
+    protected void afterWriteToFile(File file, long length, boolean written) {
+        if (written) {
+            report.fileWritten(length);
+        } else {
+            report.fileUnchanged();
+        }
+    }
+
+    private String getTemplateHash(String templateFile) {
+        String hash = templateHashes.get(templateFile);
+        if (hash == null) {
+            hash = GenerationManifest.sha256(templateCache.getSource(templateFile, templateSourceLoader));
+            templateHashes.put(templateFile, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Get the compiled template for the given template file from the template cache.
+     * Partials are resolved against the current config and their sources are cached as well.
+     */
+    private Template compileTemplate(String templateFile) {
+        if (partialLoader == null) {
+            partialLoader = new PartialLoader(templateCache, config.templateDir(), config.embeddedTemplateDir(), config.getLibrary());
+        }
+        Mustache.Compiler compiler = Mustache.compiler();
+        compiler = config.processCompiler(compiler);
+        compiler = compiler
+                .withLoader(partialLoader)
+                .defaultValue("");
+        String context = config.templateDir() + File.pathSeparator + config.embeddedTemplateDir() + File.pathSeparator + config.getLibrary();
+        return templateCache.getTemplate(templateFile, context, compiler, templateSourceLoader);
+    }
+
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    public DefaultGenerator templateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+        return this;
+    }
+
     private static void processMimeTypes(List<String> mimeTypeList, Map<String, Object> operation, String source) {
         if (mimeTypeList == null || mimeTypeList.isEmpty()){
             return;
         }
         List<Map<String, String>> c = new ArrayList<Map<String, String>>();
-        int count = 0;
         for (String key : mimeTypeList) {
             Map<String, String> mediaType = new HashMap<String, String>();
             mediaType.put("mediaType", key);
-            count += 1;
-            if (count < mimeTypeList.size()) {
-                mediaType.put("hasMore", "true");
-            } else {
-                mediaType.put("hasMore", null);
-            }
             c.add(mediaType);
         }
+        PositionUtils.setHasMore(c);
         operation.put(source, c);
         String flagFieldName = "has" + source.substring(0, 1).toUpperCase() + source.substring(1);
         operation.put(flagFieldName, true);
@@ -777,7 +992,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (operation == null) {
             return;
         }
-        if (System.getProperty("debugOperations") != null) {
+        if (generationOptions.isDebugOperations()) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
         List<String> tags = operation.getTags();
@@ -974,4 +1189,35 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         config.postProcessModels(objs);
         return objs;
     }
+
+    /**
+     * Loads the partials of a template. A compiled template is cached across runs together with its
+     * compiler, so the loader only holds the template lookup context, not the generator, config or
+     * spec of the run that compiled it.
+     */
+    private static final class PartialLoader extends AbstractGenerator
+            implements Mustache.TemplateLoader, TemplateCache.SourceLoader {
+        private final TemplateCache templateCache;
+        private final String templateDir;
+        private final String embeddedTemplateDir;
+        private final String library;
+
+        PartialLoader(TemplateCache templateCache, String templateDir, String embeddedTemplateDir, String library) {
+            this.templateCache = templateCache;
+            this.templateDir = templateDir;
+            this.embeddedTemplateDir = embeddedTemplateDir;
+            this.library = library;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            return new StringReader(templateCache.getSource(
+                    getFullTemplateFile(templateDir, embeddedTemplateDir, library, name + ".mustache"), this));
+        }
+
+        @Override
+        public String load(String templateFile) {
+            return readTemplate(templateFile);
+        }
+    }
 }
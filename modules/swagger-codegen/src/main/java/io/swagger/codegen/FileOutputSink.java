@@ -0,0 +1,94 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+
+/**
+ * Writes the files to the file system. The contents are written to a temporary file next to the
+ * target file, which then replaces the target file with an atomic rename, so that readers never see
+ * a partially written file. A replaced file keeps its POSIX permissions, e.g. an executable script.
+ * A file that already has exactly these contents is not replaced, so its modification time is
+ * preserved.
+ */
+public class FileOutputSink implements OutputSink {
+
+    @Override
+    public boolean exists(File file) {
+        return file.exists();
+    }
+
+    @Override
+    public long write(File file, byte[] contents) throws IOException {
+        if (file.isFile() && file.length() == contents.length
+                && Arrays.equals(FileUtils.readFileToByteArray(file), contents)) {
+            return UNCHANGED;
+        }
+        File temp = createTempFile(file);
+        try {
+            OutputStream out = new FileOutputStream(temp);
+            try {
+                out.write(contents);
+            } finally {
+                out.close();
+            }
+            replaceFile(temp, file);
+        } finally {
+            FileUtils.deleteQuietly(temp);
+        }
+        return contents.length;
+    }
+
+    @Override
+    public long write(File file, AbstractGenerator.ContentWriter contents) throws IOException {
+        File temp = createTempFile(file);
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8));
+            try {
+                contents.writeTo(out);
+            } finally {
+                out.close();
+            }
+            if (file.isFile() && file.length() == temp.length() && FileUtils.contentEquals(file, temp)) {
+                return UNCHANGED;
+            }
+            long length = temp.length();
+            replaceFile(temp, file);
+            return length;
+        } finally {
+            FileUtils.deleteQuietly(temp);
+        }
+    }
+
+    private static File createTempFile(File output) throws IOException {
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        return File.createTempFile("." + output.getName() + ".", ".tmp", parent);
+    }
+
+    private static void replaceFile(File source, File target) throws IOException {
+        PosixFileAttributeView permissions = Files.getFileAttributeView(target.toPath(), PosixFileAttributeView.class);
+        if (permissions != null && target.exists()) {
+            Files.setPosixFilePermissions(source.toPath(), permissions.readAttributes().permissions());
+        }
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Content-hash manifest of the files written by a generation run, stored in
+ * <code>.swagger-codegen/manifest.json</code> under the output folder.
+ * <p>
+ * For every generated file the manifest records its input hash, the hash of the template it was
+ * rendered from and the hash of the written content. A file whose input and template hashes are
+ * unchanged and whose content on disk still matches the recorded output hash does not need to be
+ * rendered again.
+ * <p>
+ * The input hash of a file extends the input hash of the run (options, generator, custom template
+ * folder and the parts of the spec shared by all files, e.g. info and security definitions) with
+ * the parts of the spec the file is generated from, see {@link #index(Swagger)}: a model file
+ * depends on its model, an api file on the operations of its tag, each with the models they refer
+ * to, and a supporting file on the whole spec. A change of a model therefore only renders the files
+ * of the models and apis using it again, and the supporting files.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String METADATA_FOLDER = ".swagger-codegen";
+    public static final String FILENAME = "manifest.json";
+
+    private final File outputFolder;
+    private final String inputHash;
+    private final Map<String, Entry> previous;
+    private final ConcurrentMap<String, Entry> current = new ConcurrentHashMap<String, Entry>();
+    private JsonNode spec;
+    // models that the file of a model depends on: the models it refers to, and its subtypes
+    private Map<String, Set<String>> dependencies;
+    private String specHash;
+
+    GenerationManifest(File outputFolder, String inputHash, Map<String, Entry> previous) {
+        this.outputFolder = outputFolder;
+        this.inputHash = inputHash;
+        this.previous = previous;
+        // files that are not generated by this run (e.g. partial generation) keep their entries
+        this.current.putAll(previous);
+    }
+
+    /**
+     * Load the manifest of the previous run from the given output folder, if any.
+     *
+     * @param outputFolder output folder of the generator
+     * @param inputHash input hash of the current run
+     * @return manifest for the current run
+     */
+    public static GenerationManifest load(String outputFolder, String inputHash) {
+        File folder = new File(outputFolder);
+        Map<String, Entry> previous = new TreeMap<String, Entry>();
+        File manifestFile = getManifestFile(folder);
+        if (manifestFile.isFile()) {
+            try {
+                Data data = Json.mapper().readValue(manifestFile, Data.class);
+                if (data.files != null) {
+                    previous.putAll(data.files);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Ignoring unreadable manifest " + manifestFile + ": " + e.getMessage());
+            }
+        }
+        return new GenerationManifest(folder, inputHash, previous);
+    }
+
+    public static File getManifestFile(File outputFolder) {
+        return new File(new File(outputFolder, METADATA_FOLDER), FILENAME);
+    }
+
+    public File getManifestFile() {
+        return getManifestFile(outputFolder);
+    }
+
+    public String getInputHash() {
+        return inputHash;
+    }
+
+    /**
+     * Index the spec that the files are generated from, once inline models are flattened, to
+     * compute the input hash of each file.
+     *
+     * @param swagger the spec
+     */
+    public void index(Swagger swagger) {
+        JsonNode root = Json.mapper().valueToTree(swagger);
+        Map<String, Set<String>> dependencies = new HashMap<String, Set<String>>();
+        Iterator<Map.Entry<String, JsonNode>> definitions = root.path("definitions").fields();
+        while (definitions.hasNext()) {
+            Map.Entry<String, JsonNode> definition = definitions.next();
+            Set<String> models = getDependencies(dependencies, definition.getKey());
+            collectModels(root, definition.getValue(), models, new HashSet<String>());
+            // a parent lists its subtypes, e.g. for a discriminator
+            for (JsonNode parent : definition.getValue().path("allOf")) {
+                String name = getModelName(parent.path("$ref").asText());
+                if (name != null) {
+                    getDependencies(dependencies, name).add(definition.getKey());
+                }
+            }
+        }
+        this.spec = root;
+        this.dependencies = dependencies;
+        this.specHash = sha256(root.toString());
+    }
+
+    /**
+     * @param name name of the model in the spec
+     * @return input hash of the files of the model
+     */
+    public String getModelInputHash(String name) {
+        if (spec == null) {
+            return inputHash;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, inputHash);
+        update(digest, name);
+        Set<String> models = new TreeSet<String>();
+        models.add(name);
+        update(digest, models);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @param operations operations of the api, in the order they are generated
+     * @return input hash of the files of the api
+     */
+    public String getApiInputHash(Collection<CodegenOperation> operations) {
+        if (spec == null) {
+            return inputHash;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, inputHash);
+        Set<String> models = new TreeSet<String>();
+        for (CodegenOperation operation : operations) {
+            JsonNode path = spec.path("paths").path(operation.path);
+            JsonNode method = path.path(operation.httpMethod.toLowerCase(Locale.ROOT));
+            update(digest, operation.path);
+            update(digest, operation.httpMethod);
+            // parameters shared by the operations of the path
+            update(digest, path.path("parameters").toString());
+            update(digest, method.toString());
+            collectModels(spec, path.path("parameters"), models, new HashSet<String>());
+            collectModels(spec, method, models, new HashSet<String>());
+        }
+        update(digest, models);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return input hash of the supporting files, which may use any part of the spec
+     */
+    public String getSupportingFileInputHash() {
+        if (spec == null) {
+            return inputHash;
+        }
+        MessageDigest digest = newDigest();
+        update(digest, inputHash);
+        update(digest, specHash);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Hash the given models, with the models they depend on.
+     */
+    private void update(MessageDigest digest, Set<String> models) {
+        Deque<String> pending = new ArrayDeque<String>(models);
+        while (!pending.isEmpty()) {
+            Set<String> next = dependencies.get(pending.pop());
+            if (next != null) {
+                for (String model : next) {
+                    if (models.add(model)) {
+                        pending.push(model);
+                    }
+                }
+            }
+        }
+        JsonNode definitions = spec.path("definitions");
+        for (String model : models) {
+            update(digest, model);
+            update(digest, definitions.path(model).toString());
+        }
+    }
+
+    private static Set<String> getDependencies(Map<String, Set<String>> dependencies, String model) {
+        Set<String> models = dependencies.get(model);
+        if (models == null) {
+            models = new HashSet<String>();
+            dependencies.put(model, models);
+        }
+        return models;
+    }
+
+    /**
+     * Collect the models that a part of the spec refers to, also through shared parameters and
+     * responses.
+     */
+    private static void collectModels(JsonNode root, JsonNode node, Set<String> models, Set<String> visited) {
+        JsonNode ref = node.get("$ref");
+        if (ref != null && ref.isTextual()) {
+            String name = getModelName(ref.asText());
+            if (name != null) {
+                models.add(name);
+            } else if (ref.asText().startsWith("#/") && visited.add(ref.asText())) {
+                collectModels(root, root.at(ref.asText().substring(1)), models, visited);
+            }
+        }
+        for (JsonNode child : node) {
+            collectModels(root, child, models, visited);
+        }
+    }
+
+    private static String getModelName(String ref) {
+        String prefix = "#/definitions/";
+        return ref != null && ref.startsWith(prefix) ? ref.substring(prefix.length()) : null;
+    }
+
+    /**
+     * Check whether the given file is up to date with respect to the previous run, i.e. the input
+     * and template hashes did not change and the file on disk was not modified.
+     *
+     * @param file generated file
+     * @param fileInputHash input hash of the file, e.g. {@link #getModelInputHash(String)}
+     * @param templateHash hash of the template the file is rendered from
+     * @return true if the file does not need to be rendered again
+     */
+    public boolean isUpToDate(File file, String fileInputHash, String templateHash) {
+        Entry entry = previous.get(key(file));
+        if (entry == null || !fileInputHash.equals(entry.inputHash) || !templateHash.equals(entry.templateHash) || !file.isFile()) {
+            return false;
+        }
+        try {
+            if (!sha256(file).equals(entry.outputHash)) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record a file written by the current run.
+     *
+     * @param file generated file
+     * @param fileInputHash input hash of the file
+     * @param templateHash hash of the template the file was rendered from
+     * @param contents written content
+     */
+    public void record(File file, String fileInputHash, String templateHash, byte[] contents) {
+        Entry entry = new Entry();
+        entry.inputHash = fileInputHash;
+        entry.templateHash = templateHash;
+        entry.outputHash = sha256(contents);
+        current.put(key(file), entry);
+    }
+
+    /**
+     * Record a file written by the current run, hashing the content written to disk.
+     *
+     * @param file generated file
+     * @param fileInputHash input hash of the file
+     * @param templateHash hash of the template the file was rendered from
+     * @throws IOException if the file cannot be read
+     */
+    public void record(File file, String fileInputHash, String templateHash) throws IOException {
+        Entry entry = new Entry();
+        entry.inputHash = fileInputHash;
+        entry.templateHash = templateHash;
+        entry.outputHash = sha256(file);
+        current.put(key(file), entry);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * @return the manifest of the current run, serialized as JSON with files in a stable order.
+     * Entries of files that no longer exist are dropped.
+     */
+    public String toJson() {
+        Data data = new Data();
+        data.inputHash = inputHash;
+        data.files = new TreeMap<String, Entry>();
+        for (Map.Entry<String, Entry> entry : current.entrySet()) {
+            if (new File(outputFolder, entry.getKey()).isFile()) {
+                data.files.put(entry.getKey(), entry.getValue());
+            }
+        }
+        try {
+            return Json.pretty().writeValueAsString(data) + "\n";
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize generation manifest", e);
+        }
+    }
+
+    private String key(File file) {
+        return outputFolder.toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+    }
+
+    /**
+     * Compute the input hash of a run. It covers everything that the content of any generated file
+     * may depend on besides its own template and its own part of the spec: the generator and its
+     * version, the shared parts of the spec, the options set on the config and the content of a
+     * custom template folder (which holds the partials).
+     *
+     * @param config codegen config, after options are processed
+     * @param specHash hash of the spec, see {@link #hashSharedSpec(Swagger)}
+     * @return hex encoded input hash
+     */
+    public static String computeInputHash(CodegenConfig config, String specHash) {
+        MessageDigest digest = newDigest();
+        update(digest, ImplementationVersion.read());
+        update(digest, config.getClass().getName());
+        update(digest, config.getLibrary());
+        update(digest, specHash);
+        Map<String, String> properties = new TreeMap<String, String>();
+        for (Map.Entry<String, Object> property : config.additionalProperties().entrySet()) {
+            Object value = property.getValue();
+            // only plain values: lambdas and other objects have no stable representation
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                properties.put(property.getKey(), value.toString());
+            }
+        }
+        properties.remove("generatedDate");
+        // switches of the run that do not change the generated files
+        properties.remove(CodegenConstants.GENERATOR_THREADS);
+        properties.remove(CodegenConstants.GENERATION_METRICS);
+        properties.remove(CodegenConstants.INCREMENTAL_GENERATION);
+        update(digest, properties.toString());
+        update(digest, new TreeMap<String, String>(config.typeMapping()).toString());
+        update(digest, new TreeMap<String, String>(config.instantiationTypes()).toString());
+        update(digest, new TreeMap<String, String>(config.importMapping()).toString());
+        update(digest, new TreeMap<String, String>(config.reservedWordsMappings()).toString());
+        update(digest, new TreeSet<String>(config.languageSpecificPrimitives()).toString());
+
+        File templateDir = new File(config.templateDir());
+        if (templateDir.isDirectory()) {
+            Map<String, File> templates = new TreeMap<String, File>();
+            for (File template : (Collection<File>) FileUtils.listFiles(templateDir, null, true)) {
+                templates.put(templateDir.toURI().relativize(template.toURI()).getPath(), template);
+            }
+            for (Map.Entry<String, File> template : templates.entrySet()) {
+                update(digest, template.getKey());
+                try {
+                    digest.update(FileUtils.readFileToByteArray(template.getValue()));
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not read template " + template.getValue(), e);
+                }
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Hash the spec as parsed, before the generator preprocesses it.
+     *
+     * @param swagger the spec
+     * @return hex encoded hash of the spec
+     */
+    public static String hashSpec(Swagger swagger) {
+        try {
+            return sha256(Json.mapper().writeValueAsBytes(swagger));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize the spec to compute the input hash", e);
+        }
+    }
+
+    /**
+     * Hash the parts of the spec that are shared by all generated files, i.e. all but the paths and
+     * definitions, as parsed.
+     *
+     * @param swagger the spec
+     * @return hex encoded hash of the shared parts of the spec
+     */
+    public static String hashSharedSpec(Swagger swagger) {
+        ObjectNode shared = Json.mapper().valueToTree(swagger);
+        shared.remove("paths");
+        shared.remove("definitions");
+        return sha256(shared.toString());
+    }
+
+    public static String sha256(String contents) {
+        return sha256(contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256(byte[] contents) {
+        return toHex(newDigest().digest(contents));
+    }
+
+    public static String sha256(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Hashes recorded for a generated file.
+     */
+    public static class Entry {
+        public String inputHash;
+        public String templateHash;
+        public String outputHash;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class Data {
+        public String inputHash;
+        public Map<String, Entry> files;
+    }
+}
@@ -0,0 +1,276 @@
+package io.swagger.codegen;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Switches of one generation run: which files are generated, and which template data is printed for
+ * debugging.
+ * <p>
+ * They used to be read from System properties only, which are shared by all generations in the JVM.
+ * An option that is not set here still falls back to the System property of the same name (e.g.
+ * <code>-Dmodels=Pet</code>), unless {@link #setUseSystemProperties(boolean)} is false.
+ */
+public class GenerationOptions implements Serializable {
+    public static final String APIS = "apis";
+    public static final String MODELS = "models";
+    public static final String SUPPORTING_FILES = "supportingFiles";
+    public static final String API_TESTS = "apiTests";
+    public static final String API_DOCS = "apiDocs";
+    public static final String MODEL_TESTS = "modelTests";
+    public static final String MODEL_DOCS = "modelDocs";
+    public static final String DEBUG_SWAGGER = "debugSwagger";
+    public static final String DEBUG_MODELS = "debugModels";
+    public static final String DEBUG_OPERATIONS = "debugOperations";
+    public static final String DEBUG_SUPPORTING_FILES = "debugSupportingFiles";
+
+    private static final Set<String> KEYS = new LinkedHashSet<String>(Arrays.asList(APIS, MODELS, SUPPORTING_FILES,
+            API_TESTS, API_DOCS, MODEL_TESTS, MODEL_DOCS, DEBUG_SWAGGER, DEBUG_MODELS, DEBUG_OPERATIONS, DEBUG_SUPPORTING_FILES));
+
+    private Set<String> apis;
+    private Set<String> models;
+    private Set<String> supportingFiles;
+    private Boolean apiTests;
+    private Boolean apiDocs;
+    private Boolean modelTests;
+    private Boolean modelDocs;
+    private Boolean debugSwagger;
+    private Boolean debugModels;
+    private Boolean debugOperations;
+    private Boolean debugSupportingFiles;
+    private boolean useSystemProperties = true;
+    private boolean processAll;
+
+    public GenerationOptions() {
+    }
+
+    public GenerationOptions(GenerationOptions other) {
+        this.apis = other.apis;
+        this.models = other.models;
+        this.supportingFiles = other.supportingFiles;
+        this.apiTests = other.apiTests;
+        this.apiDocs = other.apiDocs;
+        this.modelTests = other.modelTests;
+        this.modelDocs = other.modelDocs;
+        this.debugSwagger = other.debugSwagger;
+        this.debugModels = other.debugModels;
+        this.debugOperations = other.debugOperations;
+        this.debugSupportingFiles = other.debugSupportingFiles;
+        this.useSystemProperties = other.useSystemProperties;
+        this.processAll = other.processAll;
+    }
+
+    /**
+     * @param key option name, e.g. {@link #MODELS}
+     * @return true if the key is one of these options
+     */
+    public static boolean isOption(String key) {
+        return KEYS.contains(key);
+    }
+
+    /**
+     * Set an option from its System property form: a comma separated list of names for {@link #APIS},
+     * {@link #MODELS} and {@link #SUPPORTING_FILES} (empty for all), "true" or "false" for the tests
+     * and docs options, and any value to enable a debug option.
+     *
+     * @param key option name
+     * @param value option value
+     * @return false if the key is not an option
+     */
+    public boolean set(String key, String value) {
+        if (APIS.equals(key)) {
+            apis = parseNames(value);
+        } else if (MODELS.equals(key)) {
+            models = parseNames(value);
+        } else if (SUPPORTING_FILES.equals(key)) {
+            supportingFiles = parseNames(value);
+        } else if (API_TESTS.equals(key)) {
+            apiTests = Boolean.valueOf(value);
+        } else if (API_DOCS.equals(key)) {
+            apiDocs = Boolean.valueOf(value);
+        } else if (MODEL_TESTS.equals(key)) {
+            modelTests = Boolean.valueOf(value);
+        } else if (MODEL_DOCS.equals(key)) {
+            modelDocs = Boolean.valueOf(value);
+        } else if (DEBUG_SWAGGER.equals(key)) {
+            debugSwagger = value != null;
+        } else if (DEBUG_MODELS.equals(key)) {
+            debugModels = value != null;
+        } else if (DEBUG_OPERATIONS.equals(key)) {
+            debugOperations = value != null;
+        } else if (DEBUG_SUPPORTING_FILES.equals(key)) {
+            debugSupportingFiles = value != null;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return names of the APIs (tags) to generate, empty to generate all of them, or null if APIs are
+     * not selected (see {@link #isSelective()})
+     */
+    public Set<String> getApis() {
+        return apis != null ? apis : parseNames(getSystemProperty(APIS));
+    }
+
+    public GenerationOptions setApis(Set<String> apis) {
+        this.apis = apis;
+        return this;
+    }
+
+    /**
+     * @return names of the models to generate, empty to generate all of them, or null if models are
+     * not selected (see {@link #isSelective()})
+     */
+    public Set<String> getModels() {
+        return models != null ? models : parseNames(getSystemProperty(MODELS));
+    }
+
+    public GenerationOptions setModels(Set<String> models) {
+        this.models = models;
+        return this;
+    }
+
+    /**
+     * @return destination file names of the supporting files to generate, empty to generate all of
+     * them, or null if supporting files are not selected (see {@link #isSelective()})
+     */
+    public Set<String> getSupportingFiles() {
+        return supportingFiles != null ? supportingFiles : parseNames(getSystemProperty(SUPPORTING_FILES));
+    }
+
+    public GenerationOptions setSupportingFiles(Set<String> supportingFiles) {
+        this.supportingFiles = supportingFiles;
+        return this;
+    }
+
+    /**
+     * @return true if any of APIs, models or supporting files is selected, then only the selected
+     * kinds of files are generated. Otherwise all of them are generated.
+     */
+    public boolean isSelective() {
+        return getApis() != null || getModels() != null || getSupportingFiles() != null;
+    }
+
+    public boolean isApiTests() {
+        return apiTests != null ? apiTests : parseBoolean(getSystemProperty(API_TESTS));
+    }
+
+    public GenerationOptions setApiTests(Boolean apiTests) {
+        this.apiTests = apiTests;
+        return this;
+    }
+
+    public boolean isApiDocs() {
+        return apiDocs != null ? apiDocs : parseBoolean(getSystemProperty(API_DOCS));
+    }
+
+    public GenerationOptions setApiDocs(Boolean apiDocs) {
+        this.apiDocs = apiDocs;
+        return this;
+    }
+
+    public boolean isModelTests() {
+        return modelTests != null ? modelTests : parseBoolean(getSystemProperty(MODEL_TESTS));
+    }
+
+    public GenerationOptions setModelTests(Boolean modelTests) {
+        this.modelTests = modelTests;
+        return this;
+    }
+
+    public boolean isModelDocs() {
+        return modelDocs != null ? modelDocs : parseBoolean(getSystemProperty(MODEL_DOCS));
+    }
+
+    public GenerationOptions setModelDocs(Boolean modelDocs) {
+        this.modelDocs = modelDocs;
+        return this;
+    }
+
+    public boolean isDebugSwagger() {
+        return debugSwagger != null ? debugSwagger : getSystemProperty(DEBUG_SWAGGER) != null;
+    }
+
+    public GenerationOptions setDebugSwagger(Boolean debugSwagger) {
+        this.debugSwagger = debugSwagger;
+        return this;
+    }
+
+    public boolean isDebugModels() {
+        return debugModels != null ? debugModels : getSystemProperty(DEBUG_MODELS) != null;
+    }
+
+    public GenerationOptions setDebugModels(Boolean debugModels) {
+        this.debugModels = debugModels;
+        return this;
+    }
+
+    public boolean isDebugOperations() {
+        return debugOperations != null ? debugOperations : getSystemProperty(DEBUG_OPERATIONS) != null;
+    }
+
+    public GenerationOptions setDebugOperations(Boolean debugOperations) {
+        this.debugOperations = debugOperations;
+        return this;
+    }
+
+    public boolean isDebugSupportingFiles() {
+        return debugSupportingFiles != null ? debugSupportingFiles : getSystemProperty(DEBUG_SUPPORTING_FILES) != null;
+    }
+
+    public GenerationOptions setDebugSupportingFiles(Boolean debugSupportingFiles) {
+        this.debugSupportingFiles = debugSupportingFiles;
+        return this;
+    }
+
+    public boolean isUseSystemProperties() {
+        return useSystemProperties;
+    }
+
+    /**
+     * @param useSystemProperties false to ignore System properties, e.g. when several generations run
+     *                            in the same JVM
+     */
+    public GenerationOptions setUseSystemProperties(boolean useSystemProperties) {
+        this.useSystemProperties = useSystemProperties;
+        return this;
+    }
+
+    public boolean isProcessAll() {
+        return processAll;
+    }
+
+    /**
+     * @param processAll true to process all models and operations, and only render the selected ones.
+     *                   Then the post processing of the selected models and the supporting files see
+     *                   the whole spec, and render as in a full generation.
+     */
+    public GenerationOptions setProcessAll(boolean processAll) {
+        this.processAll = processAll;
+        return this;
+    }
+
+    private String getSystemProperty(String key) {
+        return useSystemProperties ? System.getProperty(key) : null;
+    }
+
+    private static Set<String> parseNames(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new LinkedHashSet<String>(Arrays.asList(value.split(",")));
+    }
+
+    // the tests and docs options default to true, and can only be disabled explicitly
+    private static boolean parseBoolean(String value) {
+        return value == null || Boolean.valueOf(value);
+    }
+}
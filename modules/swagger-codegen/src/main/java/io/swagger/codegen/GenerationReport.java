@@ -0,0 +1,249 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.util.Json;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of a generation run: time spent per phase, files and bytes written, and (when the JVM
+ * supports it) bytes allocated per phase.
+ * <p>
+ * Phases are timed with {@link #start(String)}. The time of a phase is accumulated over all its
+ * occurrences, so phases that run for every file (e.g. {@link #RENDER}) report their total time,
+ * which can exceed the wall time of the run when files are rendered in parallel. Template output
+ * is streamed to disk, so {@link #RENDER} includes writing the rendered files, while
+ * {@link #WRITE} covers the files written from memory (copied supporting files and metadata).
+ */
+@JsonPropertyOrder({"totalTimeMillis", "filesWritten", "filesUnchanged", "bytesWritten", "phases"})
+public class GenerationReport {
+    public static final String PARSE = "parse";
+    public static final String CONFIGURE = "configure";
+    public static final String FLATTEN = "flatten";
+    public static final String FROM_MODEL = "fromModel";
+    public static final String POST_PROCESS_MODELS = "postProcessAllModels";
+    public static final String FROM_OPERATION = "fromOperation";
+    public static final String POST_PROCESS_OPERATIONS = "postProcessOperations";
+    public static final String SUPPORTING_FILE_DATA = "supportingFileData";
+    public static final String COMPILE_TEMPLATES = "compileTemplates";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+
+    public static final String FILENAME = "metrics.json";
+
+    private static final AllocationCounter ALLOCATION_COUNTER = AllocationCounter.create();
+
+    private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+    private final AtomicLong filesWritten = new AtomicLong();
+    private final AtomicLong filesUnchanged = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private long totalTimeNanos;
+
+    /**
+     * Start timing a phase on the current thread.
+     *
+     * @param phase name of the phase
+     * @return the timer, to be stopped on the same thread when the phase ends
+     */
+    public Timer start(String phase) {
+        return new Timer(getPhase(phase));
+    }
+
+    /**
+     * Record a phase that was timed outside of the generator, e.g. parsing the spec.
+     *
+     * @param phase name of the phase
+     * @param nanos time spent in the phase
+     */
+    public void record(String phase, long nanos) {
+        getPhase(phase).add(nanos, -1);
+    }
+
+    void fileWritten(long bytes) {
+        filesWritten.incrementAndGet();
+        bytesWritten.addAndGet(bytes);
+    }
+
+    void fileUnchanged() {
+        filesUnchanged.incrementAndGet();
+    }
+
+    void setTotalTimeNanos(long totalTimeNanos) {
+        this.totalTimeNanos = totalTimeNanos;
+    }
+
+    private Phase getPhase(String name) {
+        synchronized (phases) {
+            Phase phase = phases.get(name);
+            if (phase == null) {
+                phase = new Phase();
+                phases.put(name, phase);
+            }
+            return phase;
+        }
+    }
+
+    public long getTotalTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalTimeNanos);
+    }
+
+    public long getFilesWritten() {
+        return filesWritten.get();
+    }
+
+    /**
+     * @return the number of generated files that already had the generated content and were not
+     * written again
+     */
+    public long getFilesUnchanged() {
+        return filesUnchanged.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public Map<String, Phase> getPhases() {
+        synchronized (phases) {
+            return new LinkedHashMap<String, Phase>(phases);
+        }
+    }
+
+    /**
+     * @return the report as JSON
+     */
+    public String toJson() {
+        try {
+            return Json.pretty().writeValueAsString(this) + "\n";
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize generation report", e);
+        }
+    }
+
+    /**
+     * @return a human readable summary, one line per phase
+     */
+    public String toSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Generated %d files (%d unchanged), %d bytes written in %d ms%n",
+                getFilesWritten(), getFilesUnchanged(), getBytesWritten(), getTotalTimeMillis()));
+        for (Map.Entry<String, Phase> entry : getPhases().entrySet()) {
+            Phase phase = entry.getValue();
+            sb.append(String.format("  %-22s %8d ms %8d x", entry.getKey(), phase.getTimeMillis(), phase.getCount()));
+            if (phase.getAllocatedBytes() != null) {
+                sb.append(String.format(" %12d bytes allocated", phase.getAllocatedBytes()));
+            }
+            sb.append(String.format("%n"));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+
+    /**
+     * Metrics of a phase.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"timeMillis", "count", "allocatedBytes"})
+    public static class Phase {
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private volatile boolean allocationTracked;
+
+        void add(long elapsedNanos, long allocated) {
+            nanos.addAndGet(elapsedNanos);
+            count.incrementAndGet();
+            if (allocated >= 0) {
+                allocatedBytes.addAndGet(allocated);
+                allocationTracked = true;
+            }
+        }
+
+        public long getTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+        }
+
+        @JsonIgnore
+        public long getTimeNanos() {
+            return nanos.get();
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * @return bytes allocated by the threads running the phase, or null if the JVM does not
+         * support measuring it
+         */
+        public Long getAllocatedBytes() {
+            return allocationTracked ? allocatedBytes.get() : null;
+        }
+    }
+
+    /**
+     * Times one occurrence of a phase on the current thread.
+     */
+    public static class Timer {
+        private final Phase phase;
+        private final long startNanos;
+        private final long startAllocated;
+
+        Timer(Phase phase) {
+            this.phase = phase;
+            this.startAllocated = ALLOCATION_COUNTER.currentThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        public void stop() {
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = startAllocated < 0 ? -1 : ALLOCATION_COUNTER.currentThreadAllocatedBytes() - startAllocated;
+            phase.add(elapsed, allocated);
+        }
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread, if supported by the JVM (HotSpot and
+     * derivatives expose it through com.sun.management.ThreadMXBean).
+     */
+    private static class AllocationCounter {
+        private final com.sun.management.ThreadMXBean threadMXBean;
+
+        private AllocationCounter(com.sun.management.ThreadMXBean threadMXBean) {
+            this.threadMXBean = threadMXBean;
+        }
+
+        static AllocationCounter create() {
+            try {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                    if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                        return new AllocationCounter(sunBean);
+                    }
+                }
+            } catch (Throwable e) {
+                // not a HotSpot JVM
+            }
+            return new AllocationCounter(null);
+        }
+
+        long currentThreadAllocatedBytes() {
+            if (threadMXBean == null) {
+                return -1;
+            }
+            return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.swagger.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the files in memory, e.g. to send them without writing them to disk. The output folder of
+ * the generator is only used to name the files, it is not created.
+ */
+public class InMemoryOutputSink implements OutputSink {
+    private final Path root;
+    private final ConcurrentSkipListMap<String, byte[]> files = new ConcurrentSkipListMap<String, byte[]>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /**
+     * @param root the output folder of the generator
+     */
+    public InMemoryOutputSink(File root) {
+        this.root = root.getAbsoluteFile().toPath().normalize();
+    }
+
+    @Override
+    public boolean exists(File file) {
+        return files.containsKey(getPath(file));
+    }
+
+    @Override
+    public long write(File file, byte[] contents) throws IOException {
+        byte[] copy = contents.clone();
+        byte[] previous = files.put(getPath(file), copy);
+        if (previous != null && Arrays.equals(previous, copy)) {
+            return UNCHANGED;
+        }
+        totalBytes.addAndGet(copy.length - (previous != null ? previous.length : 0));
+        return copy.length;
+    }
+
+    @Override
+    public long write(File file, AbstractGenerator.ContentWriter contents) throws IOException {
+        // the path is checked before rendering
+        getPath(file);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Writer out = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        contents.writeTo(out);
+        out.close();
+        return write(file, buffer.toByteArray());
+    }
+
+    /**
+     * @return the contents of the files, by path relative to the output folder with <code>/</code>
+     * as separator, in the order of the paths
+     */
+    public SortedMap<String, byte[]> getFiles() {
+        return Collections.unmodifiableSortedMap(files);
+    }
+
+    /**
+     * @return the total size of the files
+     */
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    private String getPath(File file) {
+        Path path = file.getAbsoluteFile().toPath().normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException(file + " is not in the output folder " + root);
+        }
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -4,7 +4,6 @@ import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.*;
-import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,10 +18,13 @@ public class InlineModelResolver {
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
     Map<String, Model> addedModels = new HashMap<String, Model>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    Map<ModelSignature, String> generatedSignature = new HashMap<ModelSignature, String>();
+    // next suffix to probe in uniqueName, per key
+    private final Map<String, Integer> uniqueNameCounts = new HashMap<String, Integer>();
 
     public void flatten(Swagger swagger) {
         this.swagger = swagger;
+        this.uniqueNameCounts.clear();
 
         if (swagger.getDefinitions() == null) {
             swagger.setDefinitions(new HashMap<String, Model>());
@@ -203,38 +205,55 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        return generatedSignature.get(ModelSignature.of(model));
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        generatedSignature.put(ModelSignature.of(model), name);
     }
 
-    public String uniqueName(String key) {
-        int count = 0;
-        boolean done = false;
-        key = key.replaceAll("[^a-z_\\.A-Z0-9 ]", ""); // FIXME: a parameter
-                                                       // should not be
-                                                       // assigned. Also declare
-                                                       // the methods parameters
-                                                       // as 'final'.
-        while (!done) {
-            String name = key;
-            if (count > 0) {
-                name = key + "_" + count;
-            }
-            if (swagger.getDefinitions() == null) {
-                return name;
-            } else if (!swagger.getDefinitions().containsKey(name)) {
-                return name;
+    /**
+     * Get a definition name for the given key that is not used yet, adding a <code>_N</code>
+     * suffix if needed. Definitions are only added during flattening, so suffixes that were taken
+     * for a key are not probed again.
+     *
+     * @param key name of the inline model
+     * @return unused definition name
+     */
+    public String uniqueName(final String key) {
+        final String name = sanitizeName(key);
+        final Map<String, Model> definitions = swagger.getDefinitions();
+        if (definitions == null) {
+            return name;
+        }
+        Integer next = uniqueNameCounts.get(name);
+        int count = next == null ? 0 : next;
+        while (true) {
+            String candidate = count > 0 ? name + "_" + count : name;
+            if (!definitions.containsKey(candidate)) {
+                uniqueNameCounts.put(name, count);
+                return candidate;
             }
             count += 1;
         }
-        return key;
+    }
+
+    /**
+     * Remove all characters but letters, digits, '_', '.' and ' '.
+     */
+    private static String sanitizeName(String key) {
+        StringBuilder sb = null;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '_' || c == '.' || c == ' ';
+            if (!valid && sb == null) {
+                sb = new StringBuilder(key.length()).append(key, 0, i);
+            } else if (valid && sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? key : sb.toString();
     }
 
     public void flattenProperties(Map<String, Property> properties, String path) {
@@ -0,0 +1,184 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import io.swagger.util.Json;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Structural signature of a {@link io.swagger.models.Model} or {@link io.swagger.models.properties.Property}
+ * tree, used to find inline models that have the same structure.
+ * <p>
+ * Two signatures are equal when the trees would be serialized to the same JSON by {@link Json#mapper()}:
+ * the signature is built from the same bean properties Jackson serializes (null properties are
+ * omitted, map entries keep their order), but without producing any JSON text. The signature is a
+ * snapshot, later changes to the tree do not affect it.
+ */
+public final class ModelSignature {
+    private static final Object OBJECT = new Marker("object");
+    private static final Object ARRAY = new Marker("array");
+    private static final ConcurrentMap<Class<?>, List<Accessor>> ACCESSORS = new ConcurrentHashMap<Class<?>, List<Accessor>>();
+
+    private final Object tree;
+    private final int hash;
+
+    private ModelSignature(Object tree) {
+        this.tree = tree;
+        this.hash = tree == null ? 0 : tree.hashCode();
+    }
+
+    /**
+     * @param model model or property tree
+     * @return the signature of the tree
+     */
+    public static ModelSignature of(Object model) {
+        return new ModelSignature(snapshot(model));
+    }
+
+    private static Object snapshot(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return value;
+        }
+        if (value instanceof JsonNode) {
+            // JsonNode equality ignores the order of fields
+            return value.toString();
+        }
+        if (value instanceof Map) {
+            List<Object> entries = new ArrayList<Object>();
+            entries.add(OBJECT);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.add(String.valueOf(entry.getKey()));
+                entries.add(snapshot(entry.getValue()));
+            }
+            return entries;
+        }
+        if (value instanceof Collection || value instanceof Object[]) {
+            Collection<?> items = value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value);
+            List<Object> elements = new ArrayList<Object>(items.size() + 1);
+            elements.add(ARRAY);
+            for (Object item : items) {
+                elements.add(snapshot(item));
+            }
+            return elements;
+        }
+        if (value.getClass().getName().startsWith("java.")) {
+            return value;
+        }
+        List<Object> properties = new ArrayList<Object>();
+        properties.add(OBJECT);
+        for (Accessor accessor : getAccessors(value.getClass())) {
+            Object property = accessor.get(value);
+            if (property == null) {
+                continue;
+            }
+            if (accessor.name == null) {
+                // any getter, e.g. vendor extensions: entries are inlined in the object
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) property).entrySet()) {
+                    properties.add(String.valueOf(entry.getKey()));
+                    properties.add(snapshot(entry.getValue()));
+                }
+            } else {
+                properties.add(accessor.name);
+                properties.add(snapshot(property));
+            }
+        }
+        return properties;
+    }
+
+    private static List<Accessor> getAccessors(Class<?> type) {
+        List<Accessor> accessors = ACCESSORS.get(type);
+        if (accessors == null) {
+            ObjectMapper mapper = Json.mapper();
+            BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+            accessors = new ArrayList<Accessor>();
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                AnnotatedMember member = property.getAccessor();
+                if (member != null) {
+                    accessors.add(new Accessor(property.getName(), member.getMember()));
+                }
+            }
+            AnnotatedMember anyGetter = description.findAnyGetter();
+            if (anyGetter != null) {
+                accessors.add(new Accessor(null, anyGetter.getMember()));
+            }
+            ACCESSORS.putIfAbsent(type, accessors);
+        }
+        return accessors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ModelSignature)) {
+            return false;
+        }
+        ModelSignature that = (ModelSignature) o;
+        return hash == that.hash && (tree == null ? that.tree == null : tree.equals(that.tree));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static class Accessor {
+        // null for the any getter
+        private final String name;
+        private final Member member;
+
+        Accessor(String name, Member member) {
+            this.name = name;
+            this.member = member;
+            ((AccessibleObject) member).setAccessible(true);
+        }
+
+        Object get(Object bean) {
+            try {
+                if (member instanceof Method) {
+                    return ((Method) member).invoke(bean);
+                }
+                return ((Field) member).get(bean);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Could not read " + member, e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException("Could not read " + member, e.getCause());
+            }
+        }
+    }
+
+    private static class Marker {
+        private final String name;
+
+        Marker(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.swagger.codegen;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Destination of the files of a generation: the file system by default ({@link FileOutputSink}),
+ * or memory ({@link InMemoryOutputSink}), see {@link AbstractGenerator#setOutputSink(OutputSink)}.
+ * <p>
+ * Files are identified by their path in the output folder of the generator. Implementations must
+ * be thread-safe, files may be rendered in parallel.
+ */
+public interface OutputSink {
+    /**
+     * Returned by the <code>write</code> methods when the file already had the given contents.
+     */
+    long UNCHANGED = -1;
+
+    /**
+     * @param file a file of the output folder
+     * @return true if the file exists, e.g. a test file that should not be overwritten
+     */
+    boolean exists(File file);
+
+    /**
+     * @param file file to write
+     * @param contents contents of the file
+     * @return the number of bytes written, or {@link #UNCHANGED}
+     * @throws IOException if the file cannot be written
+     */
+    long write(File file, byte[] contents) throws IOException;
+
+    /**
+     * Write the contents of the writer as UTF-8. If the writer fails, the previous contents of the
+     * file are kept.
+     *
+     * @param file file to write
+     * @param contents writer of the contents of the file
+     * @return the number of bytes written, or {@link #UNCHANGED}
+     * @throws IOException if the file cannot be written
+     */
+    long write(File file, AbstractGenerator.ContentWriter contents) throws IOException;
+}
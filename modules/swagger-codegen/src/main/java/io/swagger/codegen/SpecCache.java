@@ -0,0 +1,353 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed specs, so that a spec that did not change is not read and resolved again for every
+ * generation of a long-running process, such as the daemon of the CLI or the online generator.
+ * <p>
+ * Inline specs and local spec files are cached by hash of their contents and authorization. A local
+ * spec file that references other files is not cached, since a change of a referenced file would
+ * not be detected. Specs at an http(s) URL are cached by URL and authorization, and revalidated on
+ * every use with a conditional request: the spec is parsed again only when the server does not
+ * answer <code>304 Not Modified</code> to its <code>ETag</code>/<code>Last-Modified</code> and its
+ * contents changed, and then the contents of that response are parsed, with the URL as base of
+ * relative references. Remote references are not revalidated, they are refreshed when the entry
+ * expires.
+ * <p>
+ * A generation changes the spec, e.g. when inline models are flattened, so the cache keeps the
+ * parsed specs serialized, and returns a new copy on every read. The least recently used specs are
+ * evicted beyond the maximum number of entries, and a maximum of 0 disables the cache.
+ */
+public class SpecCache {
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+    private static final int TIMEOUT_MILLIS = 30000;
+    // a $ref that does not start with #, in JSON or YAML
+    private static final Pattern EXTERNAL_REF = Pattern.compile("\\$ref['\"]?+\\s*+:\\s*+['\"]?+(?!#)");
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+
+    public SpecCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param maxEntries maximum number of specs, 0 disables the cache
+     * @param ttlMillis time after which a spec is read again, with its references
+     */
+    public SpecCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Parse and resolve a spec, from the cache if it did not change.
+     *
+     * @param location file or URL of the spec
+     * @param authorizationValues authorization to fetch the spec and its references, may be null
+     * @return a copy of the spec that can be changed, or null if the spec is not valid
+     */
+    public Swagger read(String location, List<AuthorizationValue> authorizationValues) {
+        if (maxEntries > 0 && isHttp(location)) {
+            return readUrl(location, authorizationValues);
+        }
+        if (maxEntries > 0 && location != null && new File(location).isFile()) {
+            return readFile(new File(location), location, authorizationValues);
+        }
+        return parse(location, authorizationValues);
+    }
+
+    /**
+     * Parse and resolve an inline spec, from the cache if it was read before.
+     *
+     * @param node the spec
+     * @param authorizationValues authorization to fetch its references, may be null
+     * @return a copy of the spec that can be changed, or null if the spec is not valid
+     */
+    public Swagger read(JsonNode node, List<AuthorizationValue> authorizationValues) {
+        if (maxEntries <= 0) {
+            return parse(node, authorizationValues);
+        }
+        String key = key("inline", node.toString(), authorizationValues);
+        Entry entry = get(key);
+        count(entry != null);
+        if (entry != null) {
+            return copy(entry.spec);
+        }
+        return put(key, parse(node, authorizationValues), null, "the spec");
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    private Swagger readFile(File file, String location, List<AuthorizationValue> authorizationValues) {
+        String content;
+        try {
+            content = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // the parser reports the error
+            LOGGER.debug("unable to read " + location, e);
+            return parse(location, authorizationValues);
+        }
+        if (EXTERNAL_REF.matcher(content).find()) {
+            return parse(location, authorizationValues);
+        }
+        String key = key("file", content, authorizationValues);
+        Entry entry = get(key);
+        count(entry != null);
+        if (entry != null) {
+            return copy(entry.spec);
+        }
+        return put(key, parse(content, location, authorizationValues), null, location);
+    }
+
+    private Swagger readUrl(String url, List<AuthorizationValue> authorizationValues) {
+        String key = key("url", url, authorizationValues);
+        Entry entry = get(key);
+        Response response;
+        try {
+            response = fetch(url, authorizationValues, entry != null ? entry.validators : null);
+        } catch (IOException e) {
+            // the parser reports the error
+            LOGGER.debug("unable to revalidate " + url, e);
+            return parse(url, authorizationValues);
+        }
+        if (entry != null && !entry.validators.matches(response.validators)) {
+            entry = null;
+        }
+        count(entry != null);
+        if (entry != null) {
+            return copy(entry.spec);
+        }
+        return put(key, parse(new String(response.body, StandardCharsets.UTF_8), url, authorizationValues),
+                response.validators, url);
+    }
+
+    private synchronized void count(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    private synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @return a copy of the spec, or the spec itself if it cannot be cached
+     */
+    private Swagger put(String key, Swagger swagger, Validators validators, String name) {
+        if (swagger == null) {
+            return null;
+        }
+        byte[] spec;
+        try {
+            spec = Json.mapper().writeValueAsBytes(swagger);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("unable to cache " + name, e);
+            return swagger;
+        }
+        synchronized (this) {
+            entries.put(key, new Entry(spec, validators, System.currentTimeMillis() + ttlMillis));
+            while (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+        return copy(spec);
+    }
+
+    private static Swagger parse(String location, List<AuthorizationValue> authorizationValues) {
+        return new SwaggerParser().read(location, authorizationValues, true);
+    }
+
+    private static Swagger parse(JsonNode node, List<AuthorizationValue> authorizationValues) {
+        return authorizationValues != null
+                ? new SwaggerParser().read(node, authorizationValues, true) : new SwaggerParser().read(node, true);
+    }
+
+    /**
+     * Parse the contents of the spec at the location, like the parser does when it reads them.
+     */
+    private static Swagger parse(String content, String location, List<AuthorizationValue> authorizationValues) {
+        try {
+            Swagger swagger = new Swagger20Parser().parse(content);
+            if (swagger != null) {
+                return new SwaggerResolver(swagger, authorizationValues, location).resolve();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("unable to parse " + location, e);
+        }
+        // not a 2.0 spec, the other versions are converted by the parser
+        return parse(location, authorizationValues);
+    }
+
+    private static Swagger copy(byte[] spec) {
+        try {
+            return Json.mapper().readValue(spec, Swagger.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read a cached spec", e);
+        }
+    }
+
+    private static String key(String kind, String spec, List<AuthorizationValue> authorizationValues) {
+        StringBuilder key = new StringBuilder(kind).append('\0').append(spec);
+        if (authorizationValues != null) {
+            for (AuthorizationValue auth : authorizationValues) {
+                key.append('\0').append(auth.getType())
+                        .append('\0').append(auth.getKeyName())
+                        .append('\0').append(auth.getValue());
+            }
+        }
+        return GenerationManifest.sha256(key.toString());
+    }
+
+    private static boolean isHttp(String url) {
+        return url != null && (url.toLowerCase().startsWith("http://") || url.toLowerCase().startsWith("https://"));
+    }
+
+    /**
+     * Fetch the spec, unless it is not modified since the previous validators.
+     */
+    private static Response fetch(String url, List<AuthorizationValue> authorizationValues, Validators previous)
+            throws IOException {
+        if (authorizationValues != null) {
+            for (AuthorizationValue auth : authorizationValues) {
+                if ("query".equals(auth.getType())) {
+                    url += (url.contains("?") ? "&" : "?") + URLEncoder.encode(auth.getKeyName(), "UTF-8")
+                            + "=" + URLEncoder.encode(auth.getValue(), "UTF-8");
+                }
+            }
+        }
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setRequestProperty("Accept", "application/json, */*");
+            if (authorizationValues != null) {
+                for (AuthorizationValue auth : authorizationValues) {
+                    if ("header".equals(auth.getType())) {
+                        connection.setRequestProperty(auth.getKeyName(), auth.getValue());
+                    }
+                }
+            }
+            if (previous != null && previous.etag != null) {
+                connection.setRequestProperty("If-None-Match", previous.etag);
+            }
+            if (previous != null && previous.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", previous.lastModified);
+            }
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && previous != null) {
+                return new Response(previous, null);
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected status " + status + " for " + url);
+            }
+            InputStream in = connection.getInputStream();
+            byte[] body;
+            try {
+                body = IOUtils.toByteArray(in);
+            } finally {
+                in.close();
+            }
+            return new Response(new Validators(connection.getHeaderField("ETag"),
+                    connection.getHeaderField("Last-Modified"), GenerationManifest.sha256(body)), body);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static class Entry {
+        private final byte[] spec;
+        private final Validators validators;
+        private final long expires;
+
+        Entry(byte[] spec, Validators validators, long expires) {
+            this.spec = spec;
+            this.validators = validators;
+            this.expires = expires;
+        }
+    }
+
+    private static class Response {
+        private final Validators validators;
+        /**
+         * The contents of the spec, or null if it was not modified.
+         */
+        private final byte[] body;
+
+        Response(Validators validators, byte[] body) {
+            this.validators = validators;
+            this.body = body;
+        }
+    }
+
+    private static class Validators {
+        private final String etag;
+        private final String lastModified;
+        private final String contentHash;
+
+        Validators(String etag, String lastModified, String contentHash) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * @param current the validators of the last response, the same object if it was not modified
+         */
+        boolean matches(Validators current) {
+            return current == this || contentHash.equals(current.contentHash);
+        }
+    }
+}
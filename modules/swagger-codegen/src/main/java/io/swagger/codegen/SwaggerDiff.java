@@ -0,0 +1,190 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Differences between two versions of a spec, to regenerate only the files that depend on the
+ * changes. Both versions should be flattened with {@link InlineModelResolver} first, so that changes
+ * in inline schemas show as changes of the inline models.
+ * <ul>
+ * <li>models: the definitions that were added, removed or changed, the definitions that
+ * reference them, and their parents (<code>allOf</code>)</li>
+ * <li>tags: the tags of the operations that were added, removed or changed, and of the operations
+ * that reference a changed model</li>
+ * <li>global change: anything besides the paths and definitions changed (info, host, base path,
+ * security, shared parameters and responses...), which may affect every file</li>
+ * </ul>
+ * Operations without tags have the tag <code>default</code>, as in {@link DefaultGenerator}.
+ */
+public class SwaggerDiff {
+    private static final String DEFINITION_REF_PREFIX = "#/definitions/";
+    private static final Set<String> METHODS = new HashSet<String>(Arrays.asList("get", "put", "post", "delete",
+            "options", "head", "patch"));
+
+    private final Set<String> models;
+    private final Set<String> tags;
+    private final boolean globalChange;
+
+    private SwaggerDiff(Set<String> models, Set<String> tags, boolean globalChange) {
+        this.models = Collections.unmodifiableSet(models);
+        this.tags = Collections.unmodifiableSet(tags);
+        this.globalChange = globalChange;
+    }
+
+    public static SwaggerDiff compare(Swagger previous, Swagger current) {
+        ObjectNode previousTree = Json.mapper().valueToTree(previous);
+        ObjectNode currentTree = Json.mapper().valueToTree(current);
+        JsonNode previousDefinitions = previousTree.remove("definitions");
+        JsonNode currentDefinitions = currentTree.remove("definitions");
+        JsonNode previousPaths = previousTree.remove("paths");
+        JsonNode currentPaths = currentTree.remove("paths");
+
+        Set<String> models = new TreeSet<String>(changedFields(previousDefinitions, currentDefinitions));
+        // definitions that reference a changed definition, e.g. with allOf, render it too
+        Map<String, Set<String>> references = new HashMap<String, Set<String>>();
+        Iterator<Map.Entry<String, JsonNode>> definitions = fields(currentDefinitions);
+        while (definitions.hasNext()) {
+            Map.Entry<String, JsonNode> definition = definitions.next();
+            references.put(definition.getKey(), collectReferences(definition.getValue(), new HashSet<String>()));
+        }
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (Map.Entry<String, Set<String>> definition : references.entrySet()) {
+                if (!models.contains(definition.getKey()) && !Collections.disjoint(definition.getValue(), models)) {
+                    added |= models.add(definition.getKey());
+                }
+            }
+        }
+
+        // and the parents of changed definitions, which may list their children
+        for (String model : new ArrayList<String>(models)) {
+            JsonNode definition = currentDefinitions != null ? currentDefinitions.get(model) : null;
+            if (definition != null && definition.has("allOf")) {
+                models.addAll(collectReferences(definition.get("allOf"), new HashSet<String>()));
+            }
+        }
+
+        Set<String> tags = new TreeSet<String>();
+        for (String path : changedFields(previousPaths, currentPaths)) {
+            collectTags(previousPaths != null ? previousPaths.get(path) : null, tags);
+            collectTags(currentPaths != null ? currentPaths.get(path) : null, tags);
+        }
+        Iterator<Map.Entry<String, JsonNode>> paths = fields(currentPaths);
+        while (paths.hasNext()) {
+            Iterator<Map.Entry<String, JsonNode>> operations = fields(paths.next().getValue());
+            while (operations.hasNext()) {
+                Map.Entry<String, JsonNode> operation = operations.next();
+                if (METHODS.contains(operation.getKey())
+                        && !Collections.disjoint(collectReferences(operation.getValue(), new HashSet<String>()), models)) {
+                    collectOperationTags(operation.getValue(), tags);
+                }
+            }
+        }
+
+        return new SwaggerDiff(models, tags, !previousTree.equals(currentTree));
+    }
+
+    /**
+     * @return names of the definitions to generate again, including the removed ones
+     */
+    public Set<String> getModels() {
+        return models;
+    }
+
+    /**
+     * @return tags of the operations to generate again, including the removed ones
+     */
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return true if a part of the spec other than the paths and definitions changed
+     */
+    public boolean isGlobalChange() {
+        return globalChange;
+    }
+
+    /**
+     * @return true if the specs differ
+     */
+    public boolean isChanged() {
+        return globalChange || !models.isEmpty() || !tags.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "models=" + models + ", tags=" + tags + ", globalChange=" + globalChange;
+    }
+
+    private static Set<String> changedFields(JsonNode previous, JsonNode current) {
+        Set<String> changed = new HashSet<String>();
+        Iterator<Map.Entry<String, JsonNode>> previousFields = fields(previous);
+        while (previousFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = previousFields.next();
+            if (current == null || !field.getValue().equals(current.get(field.getKey()))) {
+                changed.add(field.getKey());
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> currentFields = fields(current);
+        while (currentFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = currentFields.next();
+            if (previous == null || !previous.has(field.getKey())) {
+                changed.add(field.getKey());
+            }
+        }
+        return changed;
+    }
+
+    private static Set<String> collectReferences(JsonNode node, Set<String> references) {
+        JsonNode ref = node.get("$ref");
+        if (ref != null && ref.isTextual()) {
+            String value = ref.asText();
+            references.add(value.startsWith(DEFINITION_REF_PREFIX) ? value.substring(DEFINITION_REF_PREFIX.length()) : value);
+        }
+        for (JsonNode child : node) {
+            collectReferences(child, references);
+        }
+        return references;
+    }
+
+    private static void collectTags(JsonNode path, Set<String> tags) {
+        Iterator<Map.Entry<String, JsonNode>> operations = fields(path);
+        while (operations.hasNext()) {
+            Map.Entry<String, JsonNode> operation = operations.next();
+            // path level parameters and extensions are compared with the operations
+            if (METHODS.contains(operation.getKey())) {
+                collectOperationTags(operation.getValue(), tags);
+            }
+        }
+    }
+
+    private static void collectOperationTags(JsonNode operation, Set<String> tags) {
+        JsonNode operationTags = operation.get("tags");
+        if (operationTags == null || operationTags.size() == 0) {
+            tags.add("default");
+            return;
+        }
+        for (JsonNode tag : operationTags) {
+            tags.add(tag.asText());
+        }
+    }
+
+    private static Iterator<Map.Entry<String, JsonNode>> fields(JsonNode node) {
+        return node != null ? node.fields() : Collections.<Map.Entry<String, JsonNode>>emptyIterator();
+    }
+}
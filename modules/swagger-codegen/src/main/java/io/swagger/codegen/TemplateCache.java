@@ -0,0 +1,193 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of template sources and compiled Mustache templates.
+ * <p>
+ * Compiled templates are keyed by the resolved template path, the template lookup context
+ * (template dir, embedded template dir and library, which drive partial resolution) and the
+ * settings of the compiler returned by {@link CodegenConfig#processCompiler}. Partials are
+ * compiled into the template that includes them, and their sources are cached by resolved path.
+ * <p>
+ * A single shared instance is used by default so that templates are compiled once per JVM, across
+ * generator runs. Templates in a directory on the file system are revalidated by
+ * {@link #revalidate(String)} at the start of every run, so that edits to a custom template
+ * directory are picked up by long-lived JVMs such as the IDE, the online generator or the daemon.
+ */
+public class TemplateCache {
+    private static final TemplateCache SHARED = new TemplateCache();
+
+    private final ConcurrentMap<List<Object>, Template> templates = new ConcurrentHashMap<List<Object>, Template>();
+    private final ConcurrentMap<String, String> sources = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, String> directoryStamps = new ConcurrentHashMap<String, String>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Loads the source of a template that is not in the cache yet.
+     */
+    public interface SourceLoader {
+        String load(String templateFile);
+    }
+
+    public static TemplateCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Get the compiled template for the given file, compiling it on the first request.
+     *
+     * @param templateFile resolved template file
+     * @param context template lookup context used to resolve partials
+     * @param compiler fully configured compiler
+     * @param loader loader for the template source
+     * @return compiled template
+     */
+    public Template getTemplate(String templateFile, String context, Mustache.Compiler compiler, SourceLoader loader) {
+        List<Object> key = Arrays.<Object>asList(templateFile, context, compilerKey(compiler));
+        Template template = templates.get(key);
+        if (template != null) {
+            hits.incrementAndGet();
+            return template;
+        }
+        misses.incrementAndGet();
+        template = compiler.compile(loadSource(templateFile, loader));
+        Template existing = templates.putIfAbsent(key, template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     * Get the source of the given template file, e.g. a partial requested by the template loader.
+     *
+     * @param templateFile resolved template file
+     * @param loader loader for the template source
+     * @return template source
+     */
+    public String getSource(String templateFile, SourceLoader loader) {
+        String source = sources.get(templateFile);
+        if (source != null) {
+            hits.incrementAndGet();
+            return source;
+        }
+        misses.incrementAndGet();
+        return loadSource(templateFile, loader);
+    }
+
+    /**
+     * Drop the cached source and all compiled variants of the given template file.
+     *
+     * @param templateFile resolved template file
+     */
+    public void invalidate(String templateFile) {
+        sources.remove(templateFile);
+        for (List<Object> key : templates.keySet()) {
+            if (templateFile.equals(key.get(0))) {
+                templates.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Drop the cached sources and compiled templates of a template directory if a file in it was
+     * added, removed or modified since the previous call for this directory. Directories that do not
+     * exist on the file system, e.g. embedded templates, are ignored.
+     *
+     * @param templateDir template directory
+     * @return true if cached entries were dropped
+     */
+    public boolean revalidate(String templateDir) {
+        File dir = new File(templateDir);
+        if (!dir.isDirectory()) {
+            return false;
+        }
+        StringBuilder stamp = new StringBuilder();
+        appendStamp(dir, "", stamp);
+        String current = GenerationManifest.sha256(stamp.toString());
+        String previous = directoryStamps.put(templateDir, current);
+        if (current.equals(previous)) {
+            return false;
+        }
+        String prefix = templateDir + File.separator;
+        String contextPrefix = templateDir + File.pathSeparator;
+        for (String templateFile : sources.keySet()) {
+            if (templateFile.startsWith(prefix)) {
+                sources.remove(templateFile);
+            }
+        }
+        for (List<Object> key : templates.keySet()) {
+            // compiled templates include the partials resolved in their context
+            if (((String) key.get(0)).startsWith(prefix) || ((String) key.get(1)).startsWith(contextPrefix)) {
+                templates.remove(key);
+            }
+        }
+        return previous != null;
+    }
+
+    public void clear() {
+        templates.clear();
+        sources.clear();
+        directoryStamps.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return templates.size() + sources.size();
+    }
+
+    private String loadSource(String templateFile, SourceLoader loader) {
+        String source = sources.get(templateFile);
+        if (source == null) {
+            source = loader.load(templateFile);
+            String existing = sources.putIfAbsent(templateFile, source);
+            if (existing != null) {
+                source = existing;
+            }
+        }
+        return source;
+    }
+
+    private static void appendStamp(File dir, String path, StringBuilder stamp) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = path + "/" + file.getName();
+            if (file.isDirectory()) {
+                appendStamp(file, name, stamp);
+            } else {
+                stamp.append(name).append(':').append(file.lastModified()).append(':').append(file.length()).append('\n');
+            }
+        }
+    }
+
+    private static List<Object> compilerKey(Mustache.Compiler compiler) {
+        return Arrays.<Object>asList(
+                compiler.standardsMode,
+                compiler.strictSections,
+                compiler.nullValue,
+                compiler.missingIsNull,
+                compiler.emptyStringIsFalse,
+                compiler.zeroIsFalse,
+                compiler.formatter,
+                compiler.escaper,
+                compiler.collector.getClass());
+    }
+}
@@ -2,12 +2,15 @@ package io.swagger.codegen.config;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.codegen.CliOption;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.ClientOpts;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GenerationOptions;
+import io.swagger.codegen.GenerationReport;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
@@ -57,6 +60,9 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private Integer generatorThreads;
+    private boolean generationMetrics;
+    private GenerationOptions generationOptions = new GenerationOptions();
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -241,6 +247,21 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    /**
+     * Options of the run. System properties that are generation options (e.g. <code>models</code>) are
+     * added to them instead of being set on the JVM.
+     */
+    @JsonIgnore
+    public GenerationOptions getGenerationOptions() {
+        return generationOptions;
+    }
+
+    @JsonIgnore
+    public CodegenConfigurator setGenerationOptions(GenerationOptions generationOptions) {
+        this.generationOptions = generationOptions;
+        return this;
+    }
+
     public Map<String, String> getInstantiationTypes() {
         return instantiationTypes;
     }
@@ -379,13 +400,32 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public Integer getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public CodegenConfigurator setGeneratorThreads(Integer generatorThreads) {
+        this.generatorThreads = generatorThreads;
+        return this;
+    }
+
+    public boolean isGenerationMetrics() {
+        return generationMetrics;
+    }
+
+    public CodegenConfigurator setGenerationMetrics(boolean generationMetrics) {
+        this.generationMetrics = generationMetrics;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
 
         Validate.notEmpty(lang, "language must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        GenerationOptions options = new GenerationOptions(generationOptions);
+        applyVerboseFlags(options);
+        applySystemProperties(options);
 
         CodegenConfig config = CodegenConfigLoader.forName(lang);
 
@@ -414,6 +454,12 @@ public class CodegenConfigurator implements Serializable {
         checkAndSetAdditionalProperty(gitRepoId, CodegenConstants.GIT_REPO_ID);
         checkAndSetAdditionalProperty(releaseNote, CodegenConstants.RELEASE_NOTE);
         checkAndSetAdditionalProperty(httpUserAgent, CodegenConstants.HTTP_USER_AGENT);
+        if (generatorThreads != null) {
+            additionalProperties.put(CodegenConstants.GENERATOR_THREADS, generatorThreads);
+        }
+        if (generationMetrics) {
+            additionalProperties.put(CodegenConstants.GENERATION_METRICS, true);
+        }
 
         handleDynamicProperties(config);
 
@@ -428,14 +474,31 @@ public class CodegenConfigurator implements Serializable {
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
 
-        Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        long parseStart = System.nanoTime();
+        Swagger swagger = readSwagger(inputSpec, authorizationValues);
+        GenerationReport report = new GenerationReport();
+        report.record(GenerationReport.PARSE, System.nanoTime() - parseStart);
 
         input.opts(new ClientOpts())
-                .swagger(swagger);
+                .swagger(swagger)
+                .report(report)
+                .generationOptions(options);
 
         return input;
     }
 
+    /**
+     * Read the spec of a run. The generator modifies the returned spec, so an implementation that
+     * keeps parsed specs must return a new copy each time.
+     *
+     * @param inputSpec location of the spec
+     * @param authorizationValues authorization for remote specs
+     * @return the parsed spec
+     */
+    protected Swagger readSwagger(String inputSpec, List<AuthorizationValue> authorizationValues) {
+        return new SwaggerParser().read(inputSpec, authorizationValues, true);
+    }
+
     @JsonAnySetter
     public CodegenConfigurator addDynamicProperty(String name, Object value) {
         dynamicProperties.put(name, value);
@@ -459,7 +522,7 @@ public class CodegenConfigurator implements Serializable {
         }
     }
 
-    private void setVerboseFlags() {
+    private void applyVerboseFlags(GenerationOptions options) {
         if (!verbose) {
             return;
         }
@@ -469,15 +532,18 @@ public class CodegenConfigurator implements Serializable {
                 "\n - [debugOperations] prints operations passed to the template engine" +
                 "\n - [debugSupportingFiles] prints additional data passed to the template engine");
 
-        System.setProperty("debugSwagger", "");
-        System.setProperty("debugModels", "");
-        System.setProperty("debugOperations", "");
-        System.setProperty("debugSupportingFiles", "");
+        options.setDebugSwagger(true)
+                .setDebugModels(true)
+                .setDebugOperations(true)
+                .setDebugSupportingFiles(true);
     }
 
-    private void setSystemProperties() {
+    private void applySystemProperties(GenerationOptions options) {
         for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
-            System.setProperty(entry.getKey(), entry.getValue());
+            // generation options only apply to this run, other properties may be read by generators
+            if (!options.set(entry.getKey(), entry.getValue())) {
+                System.setProperty(entry.getKey(), entry.getValue());
+            }
         }
     }
 
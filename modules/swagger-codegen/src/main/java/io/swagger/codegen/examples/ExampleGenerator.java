@@ -26,8 +26,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +38,14 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
+/**
+ * Generates response examples from the response schema.
+ * <p>
+ * An instance can be reused for all operations of a specification: with {@link NumberMode#DETERMINISTIC}
+ * numbers, the examples of referenced models are resolved once per (model, media type) and reused,
+ * and XML examples are cached by {@link XmlExampleGenerator}. The size of the examples can be limited
+ * with {@link #setMaxDepth(int)} and {@link #setMaxSize(int)}. Instances are not thread-safe.
+ */
 public class ExampleGenerator {
     private static final Logger logger = LoggerFactory.getLogger(ExampleGenerator.class);
 
@@ -46,19 +57,79 @@ public class ExampleGenerator {
     private static final String CONTENT_TYPE = "contentType";
     private static final String OUTPUT = "output";
     private static final String NONE = "none";
+    private static final int SEED = "ExampleGenerator".hashCode();
+
+    /**
+     * How example numbers are chosen when the specification has no example.
+     */
+    public enum NumberMode {
+        /**
+         * Random numbers within the bounds of the property, from a fixed seed for each call to
+         * {@link ExampleGenerator#generate(Map, List, Property)}.
+         */
+        SEEDED,
+        /**
+         * The middle of the range {@link #SEEDED} numbers are drawn from, or the values used by
+         * {@link XmlExampleGenerator} for properties without bounds. The example of a model is then
+         * the same in every operation, and is cached.
+         */
+        DETERMINISTIC
+    }
 
     protected Map<String, Model> examples;
     private Random random;
+    private NumberMode numberMode = NumberMode.SEEDED;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxSize = Integer.MAX_VALUE;
+    private final Map<List<Object>, CachedExample> cache = new HashMap<List<Object>, CachedExample>();
+    private XmlExampleGenerator xmlExampleGenerator;
 
     public ExampleGenerator(Map<String, Model> examples) {
         this.examples = examples;
         // use a fixed seed to make the "random" numbers reproducible.
-        this.random = new Random("ExampleGenerator".hashCode());
+        this.random = new Random(SEED);
+    }
+
+    public NumberMode getNumberMode() {
+        return numberMode;
+    }
+
+    public void setNumberMode(NumberMode numberMode) {
+        this.numberMode = numberMode;
+        this.cache.clear();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxDepth maximum number of nested models in an example, deeper models are left empty
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        this.cache.clear();
+        this.xmlExampleGenerator = null;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize maximum number of values in an example, once reached models are left empty
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache.clear();
+        this.xmlExampleGenerator = null;
     }
 
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, Property property) {
         List<Map<String, String>> output = new ArrayList<>();
-        Set<String> processedModels = new HashSet<>();
+        if (numberMode == NumberMode.SEEDED) {
+            random = new Random(SEED);
+        }
         if (examples == null) {
             if (mediaTypes == null) {
                 // assume application/json for this
@@ -68,14 +139,14 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
-                    String example = Json.pretty(resolvePropertyToExample(mediaType, property, processedModels));
+                    String example = Json.pretty(resolvePropertyToExample(mediaType, property, new Context()));
 
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
+                    String example = getXmlExampleGenerator().toXml(property);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -98,29 +169,32 @@ public class ExampleGenerator {
         return output;
     }
 
-    private Object resolvePropertyToExample(String mediaType, Property property, Set<String> processedModels) {
-        logger.debug("Resolving example for property {}...", property);
+    private XmlExampleGenerator getXmlExampleGenerator() {
+        if (xmlExampleGenerator == null) {
+            xmlExampleGenerator = new XmlExampleGenerator(this.examples);
+            xmlExampleGenerator.setMaxDepth(maxDepth);
+            xmlExampleGenerator.setMaxSize(maxSize);
+        }
+        return xmlExampleGenerator;
+    }
+
+    private Object resolvePropertyToExample(String mediaType, Property property, Context context) {
+        context.size++;
         if (property.getExample() != null) {
-            logger.debug("Example set in swagger spec, returning example: '{}'", property.getExample().toString());
             return property.getExample();
         } else if (property instanceof StringProperty) {
-            logger.debug("String property");
             String defaultValue = ((StringProperty) property).getDefault();
             if (defaultValue != null && !defaultValue.isEmpty()) {
-                logger.debug("Default value found: '{}'", defaultValue);
                 return defaultValue;
             }
             List<String> enumValues = ((StringProperty) property).getEnum();
             if (enumValues != null && !enumValues.isEmpty()) {
-                logger.debug("Enum value found: '{}'", enumValues.get(0));
                 return enumValues.get(0);
             }
             String format = property.getFormat();
             if (format != null && (URI.getName().equals(format) || URL.getName().equals(format))) {
-                logger.debug("URI or URL format, without default or enum, generating random one.");
                 return "http://example.com/aeiou";
             }
-            logger.debug("No values found, using default string 'aeiou' as example");
             return "aeiou";
         } else if (property instanceof BooleanProperty) {
             Boolean defaultValue = ((BooleanProperty) property).getDefault();
@@ -132,7 +206,7 @@ public class ExampleGenerator {
             Property innerType = ((ArrayProperty) property).getItems();
             if (innerType != null) {
                 return new Object[]{
-                        resolvePropertyToExample(mediaType, innerType, processedModels)
+                        resolvePropertyToExample(mediaType, innerType, context)
                 };
             }
         } else if (property instanceof DateProperty) {
@@ -142,52 +216,68 @@ public class ExampleGenerator {
         } else if (property instanceof DoubleProperty) {
             Double min = ((DecimalProperty) property).getMinimum() == null ? null : ((DecimalProperty) property).getMinimum().doubleValue();
             Double max = ((DecimalProperty) property).getMaximum() == null ? null : ((DecimalProperty) property).getMaximum().doubleValue();
-            return randomNumber(min, max);
+            return exampleNumber(min, max, 3.149);
         } else if (property instanceof FloatProperty) {
             Double min = ((DecimalProperty) property).getMinimum() == null ? null : ((DecimalProperty) property).getMinimum().doubleValue();
             Double max = ((DecimalProperty) property).getMaximum() == null ? null : ((DecimalProperty) property).getMaximum().doubleValue();
-            return (float) randomNumber(min, max);
+            return (float) exampleNumber(min, max, 1.23);
         }  else if (property instanceof DecimalProperty) {
             Double min = ((DecimalProperty) property).getMinimum() == null ? null : ((DecimalProperty) property).getMinimum().doubleValue();
             Double max = ((DecimalProperty) property).getMaximum() == null ? null : ((DecimalProperty) property).getMaximum().doubleValue();
-            return new BigDecimal(randomNumber(min, max));
+            double value = exampleNumber(min, max, 1.3579);
+            // the decimal representation of the double, which is exact for the deterministic values
+            return numberMode == NumberMode.SEEDED ? new BigDecimal(value) : BigDecimal.valueOf(value);
         } else if (property instanceof FileProperty) {
             return "";  // TODO
         } else if (property instanceof LongProperty) {
             Double min = ((BaseIntegerProperty) property).getMinimum() == null ? null : ((BaseIntegerProperty) property).getMinimum().doubleValue();
             Double max = ((BaseIntegerProperty) property).getMaximum() == null ? null : ((BaseIntegerProperty) property).getMaximum().doubleValue();
-            return (long) randomNumber(min, max);
+            return (long) exampleNumber(min, max, 123456789);
         } else if (property instanceof BaseIntegerProperty) { // Includes IntegerProperty
             Double min = ((BaseIntegerProperty) property).getMinimum() == null ? null : ((BaseIntegerProperty) property).getMinimum().doubleValue();
             Double max = ((BaseIntegerProperty) property).getMaximum() == null ? null : ((BaseIntegerProperty) property).getMaximum().doubleValue();
-            return (int) randomNumber(min, max);
+            return (int) exampleNumber(min, max, 123);
         } else if (property instanceof MapProperty) {
             Map<String, Object> mp = new HashMap<String, Object>();
             if (property.getName() != null) {
                 mp.put(property.getName(),
-                        resolvePropertyToExample(mediaType, ((MapProperty) property).getAdditionalProperties(), processedModels));
+                        resolvePropertyToExample(mediaType, ((MapProperty) property).getAdditionalProperties(), context));
             } else {
                 mp.put("key",
-                        resolvePropertyToExample(mediaType, ((MapProperty) property).getAdditionalProperties(), processedModels));
+                        resolvePropertyToExample(mediaType, ((MapProperty) property).getAdditionalProperties(), context));
             }
             return mp;
         } else if (property instanceof ObjectProperty) {
             return "{}";
         } else if (property instanceof RefProperty) {
             String simpleName = ((RefProperty) property).getSimpleRef();
-            logger.debug("Ref property, simple name: {}", simpleName);
             Model model = examples.get(simpleName);
             if (model != null) {
-                return resolveModelToExample(simpleName, mediaType, model, processedModels);
+                return resolveModelToExample(simpleName, mediaType, model, context);
             }
             logger.warn("Ref property with empty model.");
         } else if (property instanceof UUIDProperty) {
-            return "046b6c7f-0b8a-43b9-b35d-6489e6daee91"; 
+            return "046b6c7f-0b8a-43b9-b35d-6489e6daee91";
         }
 
         return "";
     }
 
+    private double exampleNumber(Double min, Double max, double unbounded) {
+        if (numberMode == NumberMode.SEEDED) {
+            return randomNumber(min, max);
+        }
+        if (min != null && max != null) {
+            return min + (max - min) / 2;
+        } else if (min != null) {
+            return min + 0.5;
+        } else if (max != null) {
+            return max / 2;
+        } else {
+            return unbounded;
+        }
+    }
+
     private double randomNumber(Double min, Double max) {
         if (min != null && max != null) {
             double range = max - min;
@@ -201,29 +291,120 @@ public class ExampleGenerator {
         }
     }
 
-    private Object resolveModelToExample(String name, String mediaType, Model model, Set<String> processedModels) {
-        if (processedModels.contains(name)) {
+    private Object resolveModelToExample(String name, String mediaType, Model model, Context context) {
+        if (context.processedModels.contains(name)) {
+            // the example depends on the models resolved before, outside of the enclosing models
+            for (Frame frame : context.frames) {
+                if (!frame.processedModels.contains(name)) {
+                    frame.cacheable = false;
+                }
+            }
             return "";
         }
-        if (model instanceof ModelImpl) {
-            processedModels.add(name);
+        if (!(model instanceof ModelImpl)) {
+            return "";
+        }
+        if (context.frames.size() >= maxDepth) {
+            // the depth is part of the cache key
+            return "";
+        }
+        if (context.size >= maxSize) {
+            for (Frame frame : context.frames) {
+                frame.cacheable = false;
+            }
+            return "";
+        }
+        final List<Object> key = Arrays.<Object>asList(name, mediaType,
+                maxDepth == Integer.MAX_VALUE ? null : context.frames.size());
+        final CachedExample cached = numberMode == NumberMode.DETERMINISTIC ? cache.get(key) : null;
+        if (cached != null && cached.isValid(context, maxSize)) {
+            context.processed(cached.processedModels);
+            context.size += cached.size;
+            return cached.example;
+        }
+
+        final Frame frame = new Frame(context.size);
+        context.frames.push(frame);
+        context.processed(Collections.singleton(name));
+        Object example;
+        try {
             ModelImpl impl = (ModelImpl) model;
-            Map<String, Object> values = new HashMap<>();
+            if (impl.getExample() != null) {
+                example = impl.getExample();
+            } else {
+                Map<String, Object> values = new HashMap<>();
+                if (impl.getProperties() != null) {
+                    for (String propertyName : impl.getProperties().keySet()) {
+                        Property property = impl.getProperties().get(propertyName);
+                        values.put(propertyName, resolvePropertyToExample(mediaType, property, context));
+                    }
+                }
+                example = values;
+            }
+        } finally {
+            context.frames.pop();
+        }
+        if (frame.cacheable && numberMode == NumberMode.DETERMINISTIC) {
+            cache.put(key, new CachedExample(example, frame.processedModels, context.size - frame.start));
+        }
+        return example;
+    }
 
-            logger.debug("Resolving model '{}' to example", name);
+    /**
+     * State of the resolution of one example.
+     */
+    private static class Context {
+        // models are only expanded once in an example, this also stops recursion
+        final Set<String> processedModels = new HashSet<String>();
+        final Deque<Frame> frames = new ArrayDeque<Frame>();
+        int size;
 
-            if (impl.getExample() != null) {
-                logger.debug("Using example from spec: {}", impl.getExample());
-                return impl.getExample();
-            } else if (impl.getProperties() != null) {
-                logger.debug("Creating example from model values");
-                for (String propertyName : impl.getProperties().keySet()) {
-                    Property property = impl.getProperties().get(propertyName);
-                    values.put(propertyName, resolvePropertyToExample(mediaType, property, processedModels));
+        void processed(Set<String> models) {
+            processedModels.addAll(models);
+            for (Frame frame : frames) {
+                frame.processedModels.addAll(models);
+            }
+        }
+    }
+
+    /**
+     * A model being resolved.
+     */
+    private static class Frame {
+        final int start;
+        final Set<String> processedModels = new HashSet<String>();
+        boolean cacheable = true;
+
+        Frame(int start) {
+            this.start = start;
+        }
+    }
+
+    private static class CachedExample {
+        final Object example;
+        final Set<String> processedModels;
+        final int size;
+
+        CachedExample(Object example, Set<String> processedModels, int size) {
+            this.example = example;
+            this.processedModels = processedModels;
+            this.size = size;
+        }
+
+        /**
+         * The example is the same as a new resolution if it does not reference a model that is
+         * already in the example, and fits in the remaining size.
+         */
+        boolean isValid(Context context, int maxSize) {
+            if (maxSize != Integer.MAX_VALUE && context.size + size >= maxSize) {
+                return false;
+            }
+            for (String model : processedModels) {
+                if (context.processedModels.contains(model)) {
+                    return false;
                 }
             }
-            return values;
+            return true;
         }
-        return "";
     }
-}
\ No newline at end of file
+}
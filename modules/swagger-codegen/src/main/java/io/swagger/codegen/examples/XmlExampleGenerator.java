@@ -25,14 +25,23 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Generates XML examples. The example of a model is rendered once per indentation and reused, unless
+ * it depends on the enclosing models (recursive models are left empty). Instances are not thread-safe.
+ */
 public class XmlExampleGenerator {
     protected final Logger LOGGER = LoggerFactory.getLogger(XmlExampleGenerator.class);
     public static String NEWLINE = "\n";
@@ -41,6 +50,12 @@ public class XmlExampleGenerator {
     public static String TAG_END = "</";
     private static String EMPTY = "";
     protected Map<String, Model> examples;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxSize = Integer.MAX_VALUE;
+    private final Map<ModelImpl, Map<List<Integer>, CachedXml>> cache = new IdentityHashMap<ModelImpl, Map<List<Integer>, CachedXml>>();
+    // models being rendered, and number of values rendered in the current example
+    private final Deque<Frame> frames = new ArrayDeque<Frame>();
+    private int size;
 
     public XmlExampleGenerator(Map<String, Model> examples) {
         this.examples = examples;
@@ -49,7 +64,33 @@ public class XmlExampleGenerator {
         }
     }
 
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxDepth maximum number of nested models in an example, deeper models are left empty
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        this.cache.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize maximum number of values in an example, once reached models are left empty
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache.clear();
+    }
+
     public String toXml(Property property) {
+        frames.clear();
+        size = 0;
         return toXml(null, property, 0, Collections.<String>emptySet());
     }
 
@@ -69,8 +110,61 @@ public class XmlExampleGenerator {
     protected String modelImplToXml(ModelImpl model, int indent, Collection<String> path) {
         final String modelName = model.getName();
         if (path.contains(modelName)) {
+            for (Frame frame : frames) {
+                // the example of an enclosing model depends on the models around it
+                if (frame.path.contains(modelName)) {
+                    frame.cacheable = false;
+                }
+            }
+            referenced(Collections.singleton(modelName));
+            return EMPTY;
+        }
+        if (path.size() >= maxDepth) {
+            // the depth is part of the cache key
+            return EMPTY;
+        }
+        if (size >= maxSize) {
+            for (Frame frame : frames) {
+                frame.cacheable = false;
+            }
             return EMPTY;
         }
+
+        Map<List<Integer>, CachedXml> modelCache = cache.get(model);
+        if (modelCache == null) {
+            modelCache = new HashMap<List<Integer>, CachedXml>();
+            cache.put(model, modelCache);
+        }
+        final List<Integer> key = Arrays.asList(indent, maxDepth == Integer.MAX_VALUE ? null : path.size());
+        final CachedXml cached = modelCache.get(key);
+        if (cached != null && cached.isValid(path, size, maxSize)) {
+            referenced(cached.referencedModels);
+            size += cached.size;
+            return cached.xml;
+        }
+
+        final Frame frame = new Frame(path, size);
+        frames.push(frame);
+        referenced(Collections.singleton(modelName));
+        final String xml;
+        try {
+            xml = renderModelImpl(model, modelName, indent, path);
+        } finally {
+            frames.pop();
+        }
+        if (frame.cacheable) {
+            modelCache.put(key, new CachedXml(xml, frame.referencedModels, size - frame.start));
+        }
+        return xml;
+    }
+
+    private void referenced(Set<String> models) {
+        for (Frame frame : frames) {
+            frame.referencedModels.addAll(models);
+        }
+    }
+
+    private String renderModelImpl(ModelImpl model, String modelName, int indent, Collection<String> path) {
         final Set<String> selfPath = new HashSet<String>(path);
         selfPath.add(modelName);
 
@@ -128,6 +222,7 @@ public class XmlExampleGenerator {
         if (property == null) {
             return "";
         }
+        size++;
         StringBuilder sb = new StringBuilder();
 
         if (property instanceof ArrayProperty) {
@@ -231,4 +326,47 @@ public class XmlExampleGenerator {
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * A model being rendered.
+     */
+    private static class Frame {
+        final Collection<String> path;
+        final int start;
+        final Set<String> referencedModels = new HashSet<String>();
+        boolean cacheable = true;
+
+        Frame(Collection<String> path, int start) {
+            this.path = path;
+            this.start = start;
+        }
+    }
+
+    private static class CachedXml {
+        final String xml;
+        final Set<String> referencedModels;
+        final int size;
+
+        CachedXml(String xml, Set<String> referencedModels, int size) {
+            this.xml = xml;
+            this.referencedModels = referencedModels;
+            this.size = size;
+        }
+
+        /**
+         * The example is the same as a new rendering if none of the models it references encloses
+         * it, and it fits in the remaining size.
+         */
+        boolean isValid(Collection<String> path, int size, int maxSize) {
+            if (maxSize != Integer.MAX_VALUE && size + this.size >= maxSize) {
+                return false;
+            }
+            for (String model : referencedModels) {
+                if (path.contains(model)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -22,6 +23,9 @@ public class CodegenIgnoreProcessor {
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
+    private URI baseDirectory = null;
+    // null if the rules have to be evaluated in order
+    private IgnoreRuleMatcher matcher = null;
 
     /**
      * Loads the default ignore file (.swagger-codegen-ignore) from the specified path.
@@ -63,6 +67,7 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.baseDirectory = targetIgnoreFile.getParentFile().toURI();
             } catch (IOException e) {
                 LOGGER.error(String.format("Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -96,6 +101,11 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+        if (IgnoreRuleMatcher.supports(exclusionRules) && IgnoreRuleMatcher.supports(inclusionRules)) {
+            matcher = new IgnoreRuleMatcher(exclusionRules, inclusionRules);
+        } else {
+            matcher = null;
+        }
     }
 
     /**
@@ -107,14 +117,53 @@ public class CodegenIgnoreProcessor {
      */
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
-
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
+        return allowsPath(baseDirectory.relativize(targetFile.toURI()).getPath());
+    }
+
+    /**
+     * Determines which of the given files are allowed under the rules of the ignore file, e.g. to filter all planned
+     * output files of a generation run at once.
+     *
+     * @param targetFiles The files to check against exclusion rules from the ignore file.
+     * @return The allowed files, in the order they were given.
+     */
+    public List<File> allowedFiles(final Collection<File> targetFiles) {
+        List<File> allowed = new ArrayList<>(targetFiles.size());
+        for (File targetFile : targetFiles) {
+            if (allowsFile(targetFile)) {
+                allowed.add(targetFile);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Determines whether or not a path relative to the ignore file is allowed, under the exclusion rules from the
+     * ignore file being processed.
+     *
+     * @param relativePath The path relative to the directory of the ignore file, using '/' as separator.
+     * @return {@code false} if the path matches any pattern in the ignore file (disallowed), otherwise {@code true} (allowed).
+     */
+    public boolean allowsPath(final String relativePath) {
+        if(this.ignoreFile == null) return true;
+        if (matcher != null) {
+            return matcher.allows(relativePath);
+        }
+        return allowsPathInOrder(relativePath);
+    }
+
+    /**
+     * Evaluates all rules one by one, in the order of the ignore file.
+     */
+    boolean allowsPathInOrder(final String relativePath) {
+        File file = new File(relativePath);
+        Boolean directoryExcluded = false;
+        Boolean exclude = false;
+
         // NOTE: We *must* process all exclusion rules
         for (int i = 0; i < exclusionRules.size(); i++) {
             Rule current = exclusionRules.get(i);
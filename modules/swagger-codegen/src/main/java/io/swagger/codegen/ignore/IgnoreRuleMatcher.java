@@ -0,0 +1,178 @@
+package io.swagger.codegen.ignore;
+
+import io.swagger.codegen.ignore.rules.DirectoryRule;
+import io.swagger.codegen.ignore.rules.FileRule;
+import io.swagger.codegen.ignore.rules.InvalidRule;
+import io.swagger.codegen.ignore.rules.RootedFileRule;
+import io.swagger.codegen.ignore.rules.Rule;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rules of an ignore file, compiled once per {@link CodegenIgnoreProcessor}.
+ * <p>
+ * Rules without wildcards, and the common <code>**&#47;name</code>, <code>dir/**</code> and
+ * <code>dir/</code> forms, are indexed by full path, path suffix and directory prefix, so they are
+ * checked with one lookup per path segment. Only the remaining glob rules are evaluated one by one,
+ * against a path that is parsed once per file.
+ * <p>
+ * The result is the same as evaluating the rules in order: a file is excluded if any exclusion
+ * rule matches it, and included again if an inclusion (<code>!</code>) rule matches it, unless it
+ * was excluded by a directory rule and the inclusion rule is not a directory rule.
+ */
+final class IgnoreRuleMatcher {
+    private static final String GLOB_CHARACTERS = "*?[]{}\\";
+
+    private final RuleSet excludedFiles = new RuleSet();
+    private final RuleSet excludedDirectories = new RuleSet();
+    private final RuleSet includedFiles = new RuleSet();
+    private final RuleSet includedDirectories = new RuleSet();
+
+    IgnoreRuleMatcher(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        for (Rule rule : exclusionRules) {
+            (rule instanceof DirectoryRule ? excludedDirectories : excludedFiles).add(rule);
+        }
+        for (Rule rule : inclusionRules) {
+            (rule instanceof DirectoryRule ? includedDirectories : includedFiles).add(rule);
+        }
+    }
+
+    /**
+     * Whether the rules can be evaluated by this matcher. Rules that stop the evaluation of later
+     * rules (e.g. {@link io.swagger.codegen.ignore.rules.EverythingRule}) depend on the order of the
+     * rules and are not supported.
+     */
+    static boolean supports(List<Rule> rules) {
+        for (Rule rule : rules) {
+            if (!(rule instanceof FileRule || rule instanceof RootedFileRule || rule instanceof InvalidRule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file, with '/' separators
+     * @return {@code true} if the file is allowed
+     */
+    boolean allows(String relativePath) {
+        MatchInput input = new MatchInput(relativePath);
+        boolean directoryExcluded = excludedDirectories.matches(input);
+        if (!directoryExcluded && !excludedFiles.matches(input)) {
+            return true;
+        }
+        if (directoryExcluded) {
+            return includedDirectories.matches(input);
+        }
+        return includedFiles.matches(input) || includedDirectories.matches(input);
+    }
+
+    private static boolean isLiteral(String pattern) {
+        if (pattern.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A file to match: the path with redundant and trailing separators removed (used by rooted
+     * rules), and the path as parsed by the file system (used by glob rules).
+     */
+    private static class MatchInput {
+        private final String relativePath;
+        private Path path;
+        private String normalized;
+
+        MatchInput(String relativePath) {
+            this.relativePath = new File(relativePath).getPath();
+        }
+
+        Path path() {
+            if (path == null) {
+                path = FileSystems.getDefault().getPath(relativePath);
+            }
+            return path;
+        }
+
+        String normalized() {
+            if (normalized == null) {
+                normalized = path().toString();
+            }
+            return normalized;
+        }
+    }
+
+    private static class RuleSet {
+        // patterns matching the whole path
+        private final Set<String> paths = new HashSet<String>();
+        // directories whose contents match
+        private final Set<String> prefixes = new HashSet<String>();
+        // "/"-prefixed trailing segments that match in any directory
+        private final Set<String> suffixes = new HashSet<String>();
+        private final List<Rule> globs = new ArrayList<Rule>();
+
+        void add(Rule rule) {
+            if (rule instanceof InvalidRule) {
+                return;
+            }
+            // the glob syntax of other file systems (e.g. case insensitive on Windows) is not indexed
+            if (rule instanceof FileRule && File.separatorChar == '/') {
+                String pattern = rule.getPattern();
+                if (rule instanceof DirectoryRule) {
+                    // "dir/" matches the contents of the directory
+                    String directory = pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern;
+                    if (isLiteral(directory)) {
+                        prefixes.add(directory);
+                        return;
+                    }
+                } else if (isLiteral(pattern)) {
+                    paths.add(pattern);
+                    return;
+                } else if (pattern.startsWith("**/") && isLiteral(pattern.substring(3))) {
+                    suffixes.add(pattern.substring(2));
+                    return;
+                } else if (pattern.endsWith("/**") && isLiteral(pattern.substring(0, pattern.length() - 3))) {
+                    prefixes.add(pattern.substring(0, pattern.length() - 3));
+                    return;
+                }
+            }
+            globs.add(rule);
+        }
+
+        boolean matches(MatchInput input) {
+            if (!paths.isEmpty() || !prefixes.isEmpty() || !suffixes.isEmpty()) {
+                String normalized = input.normalized();
+                if (paths.contains(normalized)) {
+                    return true;
+                }
+                if (!prefixes.isEmpty() || !suffixes.isEmpty()) {
+                    for (int i = normalized.indexOf('/'); i >= 0; i = normalized.indexOf('/', i + 1)) {
+                        if (prefixes.contains(normalized.substring(0, i)) || suffixes.contains(normalized.substring(i))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            for (Rule rule : globs) {
+                Boolean matches = rule instanceof FileRule
+                        ? ((FileRule) rule).matches(input.path())
+                        : rule.matches(input.relativePath);
+                if (Boolean.TRUE.equals(matches)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
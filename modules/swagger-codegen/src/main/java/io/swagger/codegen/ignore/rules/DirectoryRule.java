@@ -21,7 +21,7 @@ public class DirectoryRule extends FileRule {
     }
 
     @Override
-    public Boolean matches(String relativePath) {
-        return contentsMatcher.matches(FileSystems.getDefault().getPath(relativePath)) || directoryMatcher.matches(FileSystems.getDefault().getPath(relativePath));
+    public Boolean matches(Path relativePath) {
+        return contentsMatcher.matches(relativePath) || directoryMatcher.matches(relativePath);
     }
 }
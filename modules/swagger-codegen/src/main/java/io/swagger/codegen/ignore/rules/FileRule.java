@@ -1,6 +1,7 @@
 package io.swagger.codegen.ignore.rules;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 
@@ -15,6 +16,16 @@ public class FileRule extends Rule {
 
     @Override
     public Boolean matches(String relativePath) {
-        return matcher.matches(FileSystems.getDefault().getPath(relativePath));
+        return matches(FileSystems.getDefault().getPath(relativePath));
+    }
+
+    /**
+     * Match a path that was already parsed, e.g. when evaluating many rules against the same file.
+     *
+     * @param relativePath The path relative to the ignore file.
+     * @return {@code true} if the rule matches the path.
+     */
+    public Boolean matches(Path relativePath) {
+        return matcher.matches(relativePath);
     }
 }
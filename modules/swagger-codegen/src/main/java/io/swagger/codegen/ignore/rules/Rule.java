@@ -22,7 +22,10 @@ public abstract class Rule {
         return this.definition;
     }
 
-    protected String getPattern() {
+    /**
+     * @return The glob pattern of the rule, without negation and rooted markers.
+     */
+    public String getPattern() {
         if(syntax == null) return this.definition;
 
         StringBuilder sb = new StringBuilder();
@@ -180,7 +180,6 @@ public class JavaInflectorServerCodegen extends AbstractJavaCodegen {
             int ix = result.indexOf(sourceFolder);
             String beg = result.substring(0, ix);
             String end = result.substring(ix + sourceFolder.length());
-            new java.io.File(beg + implFolder).mkdirs();
             result = beg + implFolder + end;
         }
         return result;
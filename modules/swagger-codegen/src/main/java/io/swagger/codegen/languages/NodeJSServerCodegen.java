@@ -374,7 +374,7 @@ public class NodeJSServerCodegen extends DefaultCodegen implements CodegenConfig
                         jgen.writeNumber(new BigDecimal(val));
                     }
                 });
-                objs.put("swagger-yaml", Yaml.mapper().registerModule(module).writeValueAsString(swagger));
+                objs.put("swagger-yaml", Yaml.mapper().copy().registerModule(module).writeValueAsString(swagger));
             } catch (JsonProcessingException e) {
                 LOGGER.error(e.getMessage(), e);
             }
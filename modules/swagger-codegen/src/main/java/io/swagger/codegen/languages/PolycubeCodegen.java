@@ -23,7 +23,6 @@ import java.util.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 public class PolycubeCodegen extends DefaultCodegen implements CodegenConfig {
     protected static final Logger LOGGER = LoggerFactory.getLogger(PolycubeCodegen.class);
@@ -889,12 +888,7 @@ public class PolycubeCodegen extends DefaultCodegen implements CodegenConfig {
             // copy yang to service module
             String dest_yang_path = outputFolder + File.separator + "datamodel" + File.separator + service_name + ".yang";
             try {
-              File directory = new File(outputFolder + File.separator + "datamodel");
-              if (!directory.exists()){
-                directory.mkdir();
-              }
-              Files.copy(Paths.get(yang_path), Paths.get(dest_yang_path),
-                         StandardCopyOption.REPLACE_EXISTING);
+              getOutputSink().write(new File(dest_yang_path), Files.readAllBytes(Paths.get(yang_path)));
             } catch (IOException e) {
                LOGGER.info("Error copying datamodel file: " + e);
             }
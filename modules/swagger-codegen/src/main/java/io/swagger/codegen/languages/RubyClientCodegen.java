@@ -52,7 +52,7 @@ public class RubyClientCodegen extends DefaultCodegen implements CodegenConfig {
     protected String apiDocPath = "docs/";
     protected String modelDocPath = "docs/";
 
-    protected static int emptyMethodNameCounter = 0;
+    protected int emptyMethodNameCounter = 0;
 
     public RubyClientCodegen() {
         super();
@@ -745,7 +745,7 @@ public class RubyClientCodegen extends DefaultCodegen implements CodegenConfig {
     @Override
     public boolean shouldOverwrite(String filename) {
         // skip spec file as the file might have been updated with new test cases
-        return !(skipOverwrite && new File(filename).exists());
+        return !(skipOverwrite && getOutputSink().exists(new File(filename)));
         //
         //return super.shouldOverwrite(filename) && !filename.endsWith("_spec.rb");
     }
@@ -2,7 +2,6 @@ package io.swagger.codegen.languages;
 
 import java.io.File;
 
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +45,7 @@ public class SwaggerGenerator extends DefaultCodegen implements CodegenConfig {
 
         try {
             String outputFile = outputFolder + File.separator + "swagger.json";
-            FileUtils.writeStringToFile(new File(outputFile), swaggerString);
+            writeOutputFile(outputFile, swaggerString);
             LOGGER.debug("wrote file to " + outputFile);
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -3,7 +3,6 @@ package io.swagger.codegen.languages;
 import io.swagger.codegen.*;
 import io.swagger.models.Swagger;
 import io.swagger.util.Yaml;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,7 +54,7 @@ public class SwaggerYamlGenerator extends DefaultCodegen implements CodegenConfi
         try {
             String swaggerString = Yaml.mapper().writeValueAsString(swagger);
             String outputFile = outputFolder + File.separator + this.outputFile;
-            FileUtils.writeStringToFile(new File(outputFile), swaggerString);
+            writeOutputFile(outputFile, swaggerString);
             LOGGER.debug("wrote file to " + outputFile);
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -187,7 +187,6 @@ public class UndertowCodegen extends AbstractJavaCodegen {
             int ix = result.indexOf(sourceFolder);
             String beg = result.substring(0, ix);
             String end = result.substring(ix + sourceFolder.length());
-            new java.io.File(beg + implFolder).mkdirs();
             result = beg + implFolder + end;
         }
         return result;
@@ -0,0 +1,59 @@
+package io.swagger.codegen.utils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sets list position flags (<code>hasMore</code>, first/last markers) on template data in a single
+ * pass, once a list is complete. Setting them while the list is still growing (e.g. updating every
+ * element each time one is appended) is quadratic in the size of the list.
+ */
+public class PositionUtils {
+    public static final String HAS_MORE = "hasMore";
+
+    /**
+     * Receives every element of a list with its position.
+     *
+     * @param <T> type of the elements
+     */
+    public interface Visitor<T> {
+        void visit(T item, int index, boolean first, boolean last);
+    }
+
+    /**
+     * Visit every element of the list with its position.
+     *
+     * @param items the list
+     * @param visitor visitor called for each element, in order
+     * @param <T> type of the elements
+     */
+    public static <T> void forEachPosition(final List<T> items, final Visitor<T> visitor) {
+        if (items == null) {
+            return;
+        }
+        final int last = items.size() - 1;
+        int index = 0;
+        for (T item : items) {
+            visitor.visit(item, index, index == 0, index == last);
+            index++;
+        }
+    }
+
+    /**
+     * Set <code>hasMore</code> to "true" on every map of the list but the last one, which gets a
+     * null value.
+     *
+     * @param items the list
+     */
+    public static void setHasMore(final List<? extends Map<String, ? super String>> items) {
+        if (items == null) {
+            return;
+        }
+        final int last = items.size() - 1;
+        int index = 0;
+        for (Map<String, ? super String> item : items) {
+            item.put(HAS_MORE, index < last ? "true" : null);
+            index++;
+        }
+    }
+}
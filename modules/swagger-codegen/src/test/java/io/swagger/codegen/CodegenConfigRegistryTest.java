@@ -0,0 +1,73 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static org.testng.Assert.*;
+
+public class CodegenConfigRegistryTest {
+
+    @Test
+    public void testIndexMatchesServiceLoader() {
+        List<String> expected = new ArrayList<String>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            expected.add(config.getClass().getName() + "=" + config.getName() + "," + config.getTag());
+        }
+        List<String> actual = new ArrayList<String>();
+        for (CodegenConfigRegistry.Entry entry : CodegenConfigRegistry.getInstance().getEntries()) {
+            actual.add(entry.getClassName() + "=" + entry);
+        }
+        // on failure, update src/main/resources/META-INF/swagger-codegen/generators.properties
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testNewInstance() {
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        assertSame(registry, CodegenConfigRegistry.getInstance());
+        assertEquals(registry.getEntry("java").getType(), CodegenType.CLIENT);
+
+        CodegenConfig config = registry.newInstance("java");
+        assertTrue(config instanceof JavaClientCodegen);
+        assertNotSame(registry.newInstance("java"), config);
+        assertNull(registry.newInstance("no-such-generator"));
+    }
+
+    @Test
+    public void testForName() {
+        assertTrue(CodegenConfigLoader.forName("java") instanceof JavaClientCodegen);
+        assertTrue(CodegenConfigLoader.forName(JavaClientCodegen.class.getName()) instanceof JavaClientCodegen);
+        try {
+            CodegenConfigLoader.forName("no-such-generator");
+            fail("expected an exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Available: "));
+            assertTrue(e.getMessage().contains("\njava\n"));
+        }
+    }
+
+    @Test
+    public void testClassLoaderCanBeCollected() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance(classLoader);
+        assertTrue(registry.newInstance("java") instanceof JavaClientCodegen);
+        int size = CodegenConfigRegistry.size();
+
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+        classLoader = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get(), "the registry should not keep its class loader alive");
+        assertEquals(CodegenConfigRegistry.size(), size - 1);
+        assertNotNull(registry.getEntry("java"));
+    }
+}
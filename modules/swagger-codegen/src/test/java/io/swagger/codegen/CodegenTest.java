@@ -1,10 +1,12 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
 import io.swagger.models.Model;
 import io.swagger.models.Operation;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.Property;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -246,6 +248,23 @@ public class CodegenTest {
         Assert.assertNull(composed.parent);
     }
 
+    @Test(description = "serialize model and property json on first access")
+    public void lazyJsonSchemaTest() {
+        final Swagger swagger = parseAndPrepareSwagger("src/test/resources/2_0/allOfTest.yaml");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Model model = swagger.getDefinitions().get("SimpleComposition");
+        CodegenModel cm = codegen.fromModel("SimpleComposition", model, swagger.getDefinitions());
+
+        Assert.assertNull(cm.modelJson);
+        Assert.assertEquals(cm.getModelJson(), Json.pretty(model));
+        Assert.assertNotNull(cm.modelJson);
+
+        final CodegenProperty property = cm.vars.get(0);
+        Assert.assertNull(property.jsonSchema);
+        Assert.assertEquals(Mustache.compiler().compile("{{{jsonSchema}}}").execute(property),
+                Json.pretty(property.jsonSource));
+    }
+
     @Test(description = "handle multi level composition")
     public void  multiCompositionTest() {
         final Swagger swagger = parseAndPrepareSwagger("src/test/resources/2_0/allOfTest.yaml");
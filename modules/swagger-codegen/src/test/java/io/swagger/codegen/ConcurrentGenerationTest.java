@@ -0,0 +1,123 @@
+package io.swagger.codegen;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Independent generator runs in one JVM must not affect each other, whether they run one after
+ * the other or at the same time.
+ */
+public class ConcurrentGenerationTest {
+    private static final String SPEC = "src/test/resources/petstore.json";
+    private static final List<String> LANGUAGES = Arrays.asList("java", "python", "ruby", "perl", "php",
+            "javascript", "typescript-angular2", "csharp", "go", "swift3", "objc", "scala", "kotlin", "nodejs-server",
+            "spring", "jaxrs", "html", "dynamic-html", "swagger-yaml", "qt5cpp");
+
+    private static final String PROJECT_GUID = "{6C7F8A2B-93E1-4D5A-B0C4-2F1E3D5A7B90}";
+
+    // some templates print the date of the run regardless of hideGenerationTimestamp
+    private final Map<File, String> generatedDates = new ConcurrentHashMap<File, String>();
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testParallelRunsMatchSerialRuns() throws Exception {
+        TemplateCache serialCache = new TemplateCache();
+        for (String language : LANGUAGES) {
+            generate(language, new File(directory, "serial/" + language), serialCache);
+        }
+
+        // the parallel runs share a cache of their own, so they compile templates and load partials concurrently
+        final TemplateCache parallelCache = new TemplateCache();
+
+        ExecutorService executor = Executors.newFixedThreadPool(LANGUAGES.size());
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> runs = new ArrayList<Future<?>>();
+            for (final String language : LANGUAGES) {
+                runs.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        generate(language, new File(directory, "parallel/" + language), parallelCache);
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(parallelCache.size(), serialCache.size());
+
+        for (String language : LANGUAGES) {
+            Map<String, String> serial = readFiles(new File(directory, "serial/" + language));
+            Map<String, String> parallel = readFiles(new File(directory, "parallel/" + language));
+            assertFalse(serial.isEmpty(), language);
+            assertEquals(parallel.keySet(), serial.keySet(), language);
+            for (String path : serial.keySet()) {
+                assertEquals(parallel.get(path), serial.get(path), language + ": " + path);
+            }
+        }
+    }
+
+    private void generate(String language, File output, TemplateCache templateCache) {
+        Swagger swagger = new SwaggerParser().read(SPEC);
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(output.getAbsolutePath());
+        // the generated files must not differ between runs otherwise
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        config.additionalProperties().put(CodegenConstants.OPTIONAL_PROJECT_GUID, PROJECT_GUID);
+        ClientOptInput input = new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(swagger)
+                .config(config)
+                .generationOptions(new GenerationOptions().setUseSystemProperties(false));
+        new DefaultGenerator().templateCache(templateCache).opts(input).generate();
+        generatedDates.put(output, (String) config.additionalProperties().get("generatedDate"));
+    }
+
+    private Map<String, String> readFiles(File root) throws IOException {
+        String generatedDate = generatedDates.get(root);
+        Map<String, String> files = new TreeMap<String, String>();
+        for (File file : FileUtils.listFiles(root, null, true)) {
+            String path = root.toURI().relativize(file.toURI()).getPath();
+            files.put(path, FileUtils.readFileToString(file, "UTF-8").replace(generatedDate, "<generatedDate>"));
+        }
+        return files;
+    }
+}
@@ -1,8 +1,10 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.languages.JavaClientCodegen;
 import io.swagger.models.Swagger;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
@@ -14,6 +16,10 @@ import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -281,6 +287,374 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelRenderingMatchesSerialOutput() throws Exception {
+        final File serialOutput = folder.newFolder("serial");
+        final File parallelOutput = folder.newFolder("parallel");
+
+        List<File> serialFiles = generateJavaClient(serialOutput, null);
+        List<File> parallelFiles = generateJavaClient(parallelOutput, 4);
+
+        assertEquals(parallelFiles.size(), serialFiles.size());
+        for (int i = 0; i < serialFiles.size(); i++) {
+            String serialPath = serialOutput.toURI().relativize(serialFiles.get(i).toURI()).getPath();
+            String parallelPath = parallelOutput.toURI().relativize(parallelFiles.get(i).toURI()).getPath();
+            assertEquals(parallelPath, serialPath);
+            if (serialFiles.get(i).isFile()) {
+                assertEquals(FileUtils.readFileToString(parallelFiles.get(i), UTF_8),
+                        FileUtils.readFileToString(serialFiles.get(i), UTF_8), serialPath);
+            }
+        }
+    }
+
+    private static List<File> generateJavaClient(File output, Integer threads) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        if (threads != null) {
+            codegenConfig.additionalProperties().put(CodegenConstants.GENERATOR_THREADS, threads);
+        }
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUpToDateFiles() throws Exception {
+        final File output = folder.getRoot();
+        final long oldTimestamp = 1000000000000L;
+
+        List<File> files = generateIncremental(output);
+        final File manifest = new File(output, ".swagger-codegen/manifest.json");
+        assertTrue(manifest.exists());
+        assertTrue(files.contains(manifest));
+        for (File file : files) {
+            assertTrue(file.setLastModified(oldTimestamp));
+        }
+
+        // nothing changed: no file is rendered or written again, even those containing the generation timestamp
+        assertTrue(files.containsAll(generateIncremental(output)));
+        for (File file : files) {
+            assertEquals(file.lastModified(), oldTimestamp, file.getPath());
+        }
+
+        // a file modified on disk is generated again
+        final File order = new File(output, MODEL_ORDER_FILE);
+        changeContent(order);
+        generateIncremental(output);
+        assertNotEquals(FileUtils.readFileToString(order, StandardCharsets.UTF_8), TEST_SKIP_OVERWRITE);
+        assertEquals(new File(output, API_CLIENT_FILE).lastModified(), oldTimestamp);
+    }
+
+    @Test
+    public void testIncrementalGenerationOnlyRendersFilesOfChangedModels() throws Exception {
+        final File output = folder.getRoot();
+        final long oldTimestamp = 1000000000000L;
+        final String orderApi = "src/main/java/io/swagger/client/api/StoreApi.java";
+        final String apiClient = API_CLIENT_FILE.substring(1);
+
+        List<File> files = generateIncremental(output);
+        for (File file : files) {
+            assertTrue(file.setLastModified(oldTimestamp));
+        }
+        JsonNode before = Json.mapper().readTree(new File(output, ".swagger-codegen/manifest.json")).get("files");
+
+        Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        swagger.getDefinitions().get("Order").getProperties().get("status").setDescription("Edited order status");
+        generateIncremental(output, swagger);
+        JsonNode after = Json.mapper().readTree(new File(output, ".swagger-codegen/manifest.json")).get("files");
+
+        // the model and the api using it are rendered again, with the supporting files
+        assertTrue(FileUtils.readFileToString(new File(output, MODEL_ORDER_FILE), UTF_8).contains("Edited order status"));
+        assertNotEquals(after.get(orderApi).get("inputHash"), before.get(orderApi).get("inputHash"));
+        assertNotEquals(after.get(apiClient).get("inputHash"), before.get(apiClient).get("inputHash"));
+        // the other models and apis are not
+        for (String path : Arrays.asList("src/main/java/io/swagger/client/model/Pet.java",
+                "src/main/java/io/swagger/client/model/Category.java", "docs/Pet.md",
+                "src/main/java/io/swagger/client/api/PetApi.java", "src/main/java/io/swagger/client/api/UserApi.java")) {
+            assertEquals(after.get(path), before.get(path), path);
+            assertEquals(new File(output, path).lastModified(), oldTimestamp, path);
+        }
+
+        // a model depends on the models it refers to
+        swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        swagger.getDefinitions().get("Category").getProperties().get("name").setDescription("Edited category name");
+        generateIncremental(output, swagger);
+        JsonNode edited = Json.mapper().readTree(new File(output, ".swagger-codegen/manifest.json")).get("files");
+        assertNotEquals(edited.get("src/main/java/io/swagger/client/model/Pet.java"), after.get("src/main/java/io/swagger/client/model/Pet.java"));
+        assertNotEquals(edited.get("src/main/java/io/swagger/client/api/PetApi.java"), after.get("src/main/java/io/swagger/client/api/PetApi.java"));
+        assertEquals(edited.get("src/main/java/io/swagger/client/api/UserApi.java"), after.get("src/main/java/io/swagger/client/api/UserApi.java"));
+    }
+
+    @Test
+    public void testRunSwitchesDoNotInvalidateTheManifest() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.INCREMENTAL_GENERATION, true);
+        String specHash = GenerationManifest.hashSpec(swagger);
+        String inputHash = GenerationManifest.computeInputHash(codegenConfig, specHash);
+
+        codegenConfig.additionalProperties().put(CodegenConstants.GENERATOR_THREADS, 4);
+        codegenConfig.additionalProperties().put(CodegenConstants.GENERATION_METRICS, true);
+        assertEquals(GenerationManifest.computeInputHash(codegenConfig, specHash), inputHash);
+
+        codegenConfig.additionalProperties().put(CodegenConstants.MODEL_PACKAGE, "io.swagger.other");
+        assertNotEquals(GenerationManifest.computeInputHash(codegenConfig, specHash), inputHash);
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotRewritten() throws Exception {
+        final File output = folder.getRoot();
+        final long oldTimestamp = 1000000000000L;
+
+        List<File> files = generateJavaClient(output, null);
+        for (File file : files) {
+            assertTrue(file.setLastModified(oldTimestamp));
+        }
+        generateJavaClient(output, null);
+        assertFalse(new File(output, ".swagger-codegen/manifest.json").exists());
+        for (File file : files) {
+            assertEquals(file.lastModified(), oldTimestamp, file.getPath());
+        }
+    }
+
+    @Test
+    public void testTemplatePathResolutionIsCached() throws Exception {
+        final File templateDir = folder.getRoot();
+        final String sep = File.separator;
+        JavaClientCodegen codegenConfig = new JavaClientCodegen();
+        codegenConfig.setTemplateDir(templateDir.getAbsolutePath());
+        codegenConfig.setLibrary("okhttp-gson");
+        DefaultGenerator gen = new DefaultGenerator();
+
+        assertEquals(gen.getFullTemplateFile(codegenConfig, "ApiClient.mustache"), "Java" + sep + "libraries" + sep + "okhttp-gson" + sep + "ApiClient.mustache");
+        assertEquals(gen.getFullTemplateFile(codegenConfig, "model.mustache"), "Java" + sep + "model.mustache");
+
+        // the template dir is not probed again until the cache is cleared
+        final File override = new File(templateDir, "libraries/okhttp-gson/model.mustache");
+        FileUtils.writeStringToFile(override, LIBRARY_COMMENT, UTF_8);
+        assertEquals(gen.getFullTemplateFile(codegenConfig, "model.mustache"), "Java" + sep + "model.mustache");
+        gen.clearTemplatePathCache();
+        assertEquals(gen.getFullTemplateFile(codegenConfig, "model.mustache"), override.getAbsolutePath());
+
+        // the library is part of the key
+        codegenConfig.setLibrary(null);
+        assertEquals(gen.getFullTemplateFile(codegenConfig, "model.mustache"), "Java" + sep + "model.mustache");
+    }
+
+    @Test
+    public void testStreamingWriteReplacesFileAtomically() throws Exception {
+        final File output = new File(folder.getRoot(), "src/Streamed.java");
+        DefaultGenerator generator = new DefaultGenerator();
+
+        generator.writeToFile(output.getPath(), new AbstractGenerator.ContentWriter() {
+            @Override
+            public void writeTo(Writer out) throws IOException {
+                out.write("class Streamed {}\n");
+            }
+        });
+        assertEquals(FileUtils.readFileToString(output, UTF_8), "class Streamed {}\n");
+
+        // a failing writer leaves the previous file in place and no temporary file behind
+        try {
+            generator.writeToFile(output.getPath(), new AbstractGenerator.ContentWriter() {
+                @Override
+                public void writeTo(Writer out) throws IOException {
+                    out.write("class Broken {");
+                    throw new IOException("render failed");
+                }
+            });
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "render failed");
+        }
+        assertEquals(FileUtils.readFileToString(output, UTF_8), "class Streamed {}\n");
+        assertEquals(output.getParentFile().list(), new String[]{"Streamed.java"});
+    }
+
+    @Test
+    public void testReplacedFileKeepsItsPermissions() throws Exception {
+        File script = new File(folder.getRoot(), "gradlew");
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.writeToFile(script.getPath(), "#!/bin/sh\n");
+        if (Files.getFileAttributeView(script.toPath(), PosixFileAttributeView.class) == null) {
+            return;
+        }
+        Files.setPosixFilePermissions(script.toPath(), PosixFilePermissions.fromString("rwxr-x---"));
+
+        generator.writeToFile(script.getPath(), "#!/bin/sh\nexit 0\n");
+        assertEquals(FileUtils.readFileToString(script, UTF_8), "#!/bin/sh\nexit 0\n");
+        assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(script.toPath())), "rwxr-x---");
+    }
+
+    @Test
+    public void testGenerationReport() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.GENERATION_METRICS, true);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(clientOptInput).generate();
+
+        GenerationReport report = generator.getReport();
+        assertEquals(report.getFilesWritten() + report.getFilesUnchanged(), files.size());
+        assertTrue(report.getBytesWritten() > 0);
+        Map<String, GenerationReport.Phase> phases = report.getPhases();
+        for (String phase : Arrays.asList(GenerationReport.CONFIGURE, GenerationReport.FLATTEN, GenerationReport.FROM_MODEL,
+                GenerationReport.POST_PROCESS_MODELS, GenerationReport.FROM_OPERATION, GenerationReport.POST_PROCESS_OPERATIONS,
+                GenerationReport.SUPPORTING_FILE_DATA, GenerationReport.RENDER, GenerationReport.WRITE)) {
+            assertTrue(phases.containsKey(phase), phase);
+        }
+        // rendered files are streamed to disk, other files are written from memory
+        assertEquals(phases.get(GenerationReport.RENDER).getCount() + phases.get(GenerationReport.WRITE).getCount(), files.size());
+
+        final File metrics = new File(output, ".swagger-codegen/metrics.json");
+        assertTrue(metrics.exists());
+        assertFalse(files.contains(metrics));
+        JsonNode json = Json.mapper().readTree(metrics);
+        assertEquals(json.get("filesWritten").asLong(), report.getFilesWritten());
+        assertTrue(json.get("phases").has(GenerationReport.RENDER));
+    }
+
+    @Test
+    public void testInMemoryOutputMatchesFileOutput() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        final File onDisk = new File(folder.getRoot(), "disk");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(onDisk.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        new DefaultGenerator().opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)).generate();
+
+        final File inMemory = new File(folder.getRoot(), "memory");
+        codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(inMemory.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        DefaultGenerator generator = new DefaultGenerator();
+        InMemoryOutputSink sink = new InMemoryOutputSink(inMemory);
+        generator.setOutputSink(sink);
+        List<File> files = generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(new SwaggerParser()
+                .read("src/test/resources/petstore.json")).config(codegenConfig)).generate();
+
+        assertFalse(inMemory.exists());
+        assertEquals(sink.getFiles().size(), files.size());
+        long totalBytes = 0;
+        for (File file : FileUtils.listFiles(onDisk, null, true)) {
+            String path = onDisk.toURI().relativize(file.toURI()).getPath();
+            assertTrue(sink.getFiles().containsKey(path), path);
+            assertEquals(new String(sink.getFiles().get(path), UTF_8), FileUtils.readFileToString(file, UTF_8), path);
+            totalBytes += file.length();
+        }
+        assertEquals(sink.getFiles().size(), FileUtils.listFiles(onDisk, null, true).size());
+        assertEquals(sink.getTotalBytes(), totalBytes);
+
+        try {
+            sink.write(new File(folder.getRoot(), "outside.txt"), new byte[0]);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // only files of the output folder are kept
+        }
+    }
+
+    @Test
+    public void testInMemoryGenerationCreatesNoFolders() throws Exception {
+        for (String language : Arrays.asList("inflector", "undertow")) {
+            final File output = new File(folder.getRoot(), language);
+            CodegenConfig codegenConfig = CodegenConfigLoader.forName(language);
+            codegenConfig.setOutputDir(output.getAbsolutePath());
+            DefaultGenerator generator = new DefaultGenerator();
+            InMemoryOutputSink sink = new InMemoryOutputSink(output);
+            generator.setOutputSink(sink);
+            generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(new SwaggerParser()
+                    .read("src/test/resources/petstore.json")).config(codegenConfig)).generate();
+
+            assertFalse(sink.getFiles().isEmpty(), language);
+            assertFalse(output.exists(), language);
+        }
+    }
+
+    @Test
+    public void testGenerationOptionsApplyToOneRun() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        final String modelsBackup = System.setProperty(GenerationOptions.MODELS, "Tag");
+        try {
+            GenerationOptions options = new GenerationOptions()
+                    .setModels(new HashSet<String>(Arrays.asList("Pet", "Category")))
+                    .setModelTests(false)
+                    .setModelDocs(false);
+            ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                    .config(codegenConfig).generationOptions(options);
+            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+
+            // the options win over the System property, and only models are generated
+            assertEquals(files.size(), 2);
+            assertTrue(new File(output, "src/main/java/io/swagger/client/model/Pet.java").exists());
+            assertTrue(new File(output, "src/main/java/io/swagger/client/model/Category.java").exists());
+            assertFalse(new File(output, "src/main/java/io/swagger/client/model/Tag.java").exists());
+
+            // unset options fall back to the System property
+            assertEquals(new GenerationOptions().getModels(), new HashSet<String>(Arrays.asList("Tag")));
+            assertNull(new GenerationOptions().setUseSystemProperties(false).getModels());
+        } finally {
+            if (modelsBackup != null) {
+                System.setProperty(GenerationOptions.MODELS, modelsBackup);
+            } else {
+                System.clearProperty(GenerationOptions.MODELS);
+            }
+        }
+    }
+
+    @Test
+    public void testProcessAllRendersOnlySelectedFiles() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        GenerationOptions options = new GenerationOptions()
+                .setUseSystemProperties(false)
+                .setModels(Collections.singleton("Pet"))
+                .setSupportingFiles(Collections.singleton("README.md"))
+                .setModelTests(false)
+                .setModelDocs(false)
+                .setProcessAll(true);
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                .config(codegenConfig).generationOptions(options);
+        List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
+
+        // with .swagger-codegen-ignore and .swagger-codegen/VERSION
+        assertEquals(files.size(), 4);
+        assertTrue(new File(output, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        assertFalse(new File(output, "src/main/java/io/swagger/client/model/Order.java").exists());
+        assertFalse(new File(output, "src/main/java/io/swagger/client/api/StoreApi.java").exists());
+        // the supporting files see all models and apis
+        String readme = FileUtils.readFileToString(new File(output, "README.md"), UTF_8);
+        assertTrue(readme.contains("docs/Order.md"));
+        assertTrue(readme.contains("StoreApi"));
+    }
+
+    private static List<File> generateIncremental(File output) {
+        return generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+    }
+
+    private static List<File> generateIncremental(File output, Swagger swagger) {
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.INCREMENTAL_GENERATION, "true");
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
     private static void changeContent(File file) throws IOException {
         Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), UTF_8));
         out.write(TEST_SKIP_OVERWRITE);
@@ -5,6 +5,7 @@ import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Xml;
 import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.IntegerProperty;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
 
@@ -13,6 +14,7 @@ import com.google.common.collect.Sets;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -70,4 +72,83 @@ public class ExampleGeneratorTest {
         Assert.assertEqualsNoOrder(types.toArray(new String[types.size()]),
                 expectedTypes.toArray(new String[expectedTypes.size()]));
     }
+
+    @Test(description = "check that deterministic numbers are in the middle of the range")
+    public void deterministicNumbersTest() {
+        final IntegerProperty bounded = new IntegerProperty();
+        bounded.setMinimum(new BigDecimal(10));
+        bounded.setMaximum(new BigDecimal(20));
+        final Model model = new ModelImpl().name("Bounded").property("bounded", bounded)
+                .property("unbounded", new IntegerProperty());
+
+        final ExampleGenerator eg = new ExampleGenerator(ImmutableMap.of("Bounded", model));
+        eg.setNumberMode(ExampleGenerator.NumberMode.DETERMINISTIC);
+        final String example = eg.generate(null, null, new RefProperty("Bounded")).get(0).get("example");
+        Assert.assertTrue(example.contains("\"bounded\" : 15"), example);
+        Assert.assertTrue(example.contains("\"unbounded\" : 123"), example);
+    }
+
+    @Test(description = "check that cached examples are the same as new ones")
+    public void cachedExamplesTest() {
+        final Map<String, Model> definitions = ImmutableMap.<String, Model>of(
+                "Node", new ModelImpl().name("Node").property("name", new StringProperty())
+                        .property("parent", new RefProperty("Node"))
+                        .property("tag", new RefProperty("Tag")),
+                "Tag", new ModelImpl().name("Tag").property("name", new StringProperty())
+                        .property("node", new RefProperty("Node")),
+                "Pair", new ModelImpl().name("Pair").property("first", new RefProperty("Tag"))
+                        .property("second", new RefProperty("Node")));
+        final List<String> mediaTypes = Arrays.asList("application/json", "application/xml");
+
+        final ExampleGenerator cached = new ExampleGenerator(definitions);
+        cached.setNumberMode(ExampleGenerator.NumberMode.DETERMINISTIC);
+        for (String type : Arrays.asList("Tag", "Node", "Pair", "Tag", "Pair")) {
+            final ExampleGenerator fresh = new ExampleGenerator(definitions);
+            fresh.setNumberMode(ExampleGenerator.NumberMode.DETERMINISTIC);
+            Assert.assertEquals(cached.generate(null, mediaTypes, new RefProperty(type)),
+                    fresh.generate(null, mediaTypes, new RefProperty(type)), type);
+        }
+    }
+
+    @Test(description = "check that the depth of examples can be limited")
+    public void maxDepthTest() {
+        final Map<String, Model> definitions = ImmutableMap.<String, Model>of(
+                "A", new ModelImpl().name("A").property("b", new RefProperty("B")),
+                "B", new ModelImpl().name("B").property("c", new RefProperty("C")),
+                "C", new ModelImpl().name("C").property("name", new StringProperty()));
+
+        final ExampleGenerator eg = new ExampleGenerator(definitions);
+        eg.setMaxDepth(2);
+        for (Map<String, String> item : eg.generate(null, Arrays.asList("application/json", "application/xml"), new RefProperty("A"))) {
+            if ("application/xml".equals(item.get("contentType"))) {
+                Assert.assertEquals(item.get("example"), "<A>\n  <B>\n  </B>\n</A>");
+            } else {
+                Assert.assertEquals(item.get("example").replaceAll("\\s", ""), "{\"b\":{\"c\":\"\"}}");
+            }
+        }
+    }
+
+    @Test(description = "check the example options of a codegen")
+    public void exampleOptionsTest() {
+        final Map<String, Model> definitions = ImmutableMap.<String, Model>of("Tag", new ModelImpl().name("Tag"));
+
+        final DefaultCodegen codegen = new DefaultCodegen();
+        Assert.assertEquals(codegen.getExampleGenerator(definitions).getNumberMode(), ExampleGenerator.NumberMode.SEEDED);
+
+        final DefaultCodegen deterministic = new DefaultCodegen();
+        deterministic.additionalProperties().put(CodegenConstants.EXAMPLE_NUMBERS, "deterministic");
+        deterministic.additionalProperties().put(CodegenConstants.EXAMPLE_MAX_DEPTH, "3");
+        final ExampleGenerator eg = deterministic.getExampleGenerator(definitions);
+        Assert.assertEquals(eg.getNumberMode(), ExampleGenerator.NumberMode.DETERMINISTIC);
+        Assert.assertEquals(eg.getMaxDepth(), 3);
+
+        final DefaultCodegen invalid = new DefaultCodegen();
+        invalid.additionalProperties().put(CodegenConstants.EXAMPLE_MAX_SIZE, "many");
+        try {
+            invalid.getExampleGenerator(definitions);
+            Assert.fail("exampleMaxSize is not a number");
+        } catch (RuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "exampleMaxSize should be a number: many");
+        }
+    }
 }
@@ -947,4 +947,61 @@ public class InlineModelResolverTest {
         ObjectProperty op = (ObjectProperty) inlineProp;
         assertNull(op.getProperties());
     }    
+
+    @Test
+    public void testModelSignatureMatchesJson() {
+        Swagger swagger = new Swagger();
+        InlineModelResolver resolver = new InlineModelResolver();
+        resolver.flatten(swagger);
+
+        ObjectProperty address = new ObjectProperty()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+        ObjectProperty sameAddress = new ObjectProperty()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+        ObjectProperty reorderedAddress = new ObjectProperty()
+                .property("city", new StringProperty())
+                .property("street", new StringProperty());
+        ObjectProperty nestedAddress = new ObjectProperty()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty().maxLength(10));
+        ObjectProperty extendedAddress = new ObjectProperty()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+        extendedAddress.setVendorExtension("x-address", "home");
+
+        Model model = resolver.modelFromProperty(address, "address");
+        resolver.addGenerated("Address", model);
+        for (ObjectProperty candidate : new ObjectProperty[]{sameAddress, reorderedAddress, nestedAddress, extendedAddress}) {
+            Model candidateModel = resolver.modelFromProperty(candidate, "address");
+            boolean sameJson = Json.pretty(model).equals(Json.pretty(candidateModel));
+            assertEquals(sameJson, ModelSignature.of(model).equals(ModelSignature.of(candidateModel)));
+            assertEquals(sameJson ? "Address" : null, resolver.matchGenerated(candidateModel));
+        }
+        assertEquals("Address", resolver.matchGenerated(resolver.modelFromProperty(sameAddress, "address")));
+
+        // the signature is a snapshot of the model when it was added
+        ((ModelImpl) model).addProperty("zip", new StringProperty());
+        assertEquals("Address", resolver.matchGenerated(resolver.modelFromProperty(sameAddress, "address")));
+    }
+
+    @Test
+    public void testUniqueName() {
+        Swagger swagger = new Swagger();
+        InlineModelResolver resolver = new InlineModelResolver();
+        resolver.flatten(swagger);
+
+        assertEquals("inline_response_200", resolver.uniqueName("inline_response_200"));
+        assertEquals("a.b c_d", resolver.uniqueName("a.b c-_d/{}"));
+        swagger.addDefinition("User_address", new ModelImpl());
+        assertEquals("User_address_1", resolver.uniqueName("User_address"));
+        swagger.addDefinition("User_address_1", new ModelImpl());
+        // names that were not added are returned again
+        assertEquals("User_address_2", resolver.uniqueName("User_address"));
+        assertEquals("User_address_2", resolver.uniqueName("User_address/"));
+        swagger.addDefinition("User_address_3", new ModelImpl());
+        swagger.addDefinition("User_address_2", new ModelImpl());
+        assertEquals("User_address_4", resolver.uniqueName("User_address"));
+    }
 }
@@ -0,0 +1,55 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.swagger.util.Json;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks the naming functions of DefaultCodegen against the output recorded for a corpus of
+ * names collected from the test specs plus edge cases.
+ */
+public class NamingGoldenTest {
+
+    @Test
+    public void testNamingFunctionsMatchGoldenCorpus() throws Exception {
+        List<Map<String, String>> corpus = Json.mapper().readValue(new File("src/test/resources/naming/golden-names.json"),
+                new TypeReference<List<Map<String, String>>>() {});
+        assertTrue(corpus.size() > 500);
+
+        DefaultCodegen codegen = new DefaultCodegen();
+        DefaultCodegen unicodeCodegen = new DefaultCodegen();
+        unicodeCodegen.setAllowUnicodeIdentifiers(true);
+
+        // the second round is served from the caches
+        for (int round = 0; round < 2; round++) {
+            for (Map<String, String> entry : corpus) {
+                String input = entry.get("input");
+                assertCamelize(input, false, entry.get("camelize"));
+                assertCamelize(input, true, entry.get("lowerCamelize"));
+                assertEquals(DefaultCodegen.underscore(input), entry.get("underscore"), input);
+                assertEquals(codegen.sanitizeName(input), entry.get("sanitizeName"), input);
+                assertEquals(unicodeCodegen.sanitizeName(input), entry.get("sanitizeUnicodeName"), input);
+            }
+        }
+    }
+
+    private static void assertCamelize(String input, boolean lowercaseFirstLetter, String expected) {
+        if (expected != null) {
+            assertEquals(DefaultCodegen.camelize(input, lowercaseFirstLetter), expected, input);
+            return;
+        }
+        // recorded as missing when camelize fails on the input
+        try {
+            DefaultCodegen.camelize(input, lowercaseFirstLetter);
+            fail("expected camelize to fail on " + input);
+        } catch (RuntimeException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class SpecCacheTest {
+    private HttpServer server;
+    private String url;
+    private volatile byte[] spec;
+    private volatile String etag;
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        spec = IOUtils.toByteArray(getClass().getClassLoader().getResource("petstore.json"));
+        etag = "\"1\"";
+        requests.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/petstore.json", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String auth = exchange.getRequestHeaders().getFirst("X-Api-Key");
+                if (etag != null && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    requests.add("304 " + auth);
+                    exchange.sendResponseHeaders(304, -1);
+                } else {
+                    requests.add("200 " + auth);
+                    if (etag != null) {
+                        exchange.getResponseHeaders().set("ETag", etag);
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, spec.length);
+                    OutputStream out = exchange.getResponseBody();
+                    out.write(spec);
+                    out.close();
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/petstore.json";
+    }
+
+    private void serve(final String path, String contents) {
+        final byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requests.add("200 " + path);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+                exchange.close();
+            }
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRevalidateWithETag() {
+        SpecCache cache = new SpecCache(10, 60000);
+        Swagger swagger = cache.read(url, null);
+        assertEquals(swagger.getInfo().getTitle(), "Swagger Petstore");
+        // the fetched spec is parsed
+        assertEquals(requests, Collections.singletonList("200 null"));
+
+        requests.clear();
+        assertEquals(cache.read(url, null), swagger);
+        assertEquals(requests, Collections.singletonList("304 null"));
+        assertEquals(cache.getHitCount(), 1L);
+
+        // changed
+        etag = "\"2\"";
+        spec = new String(spec).replace("Swagger Petstore", "Changed Petstore").getBytes();
+        requests.clear();
+        assertEquals(cache.read(url, null).getInfo().getTitle(), "Changed Petstore");
+        assertEquals(requests, Collections.singletonList("200 null"));
+        assertEquals(cache.getMissCount(), 2L);
+    }
+
+    @Test
+    public void testRevalidateWithContent() {
+        etag = null;
+        SpecCache cache = new SpecCache(10, 60000);
+        Swagger swagger = cache.read(url, null);
+
+        // the same contents are not parsed again
+        requests.clear();
+        assertEquals(cache.read(url, null), swagger);
+        assertEquals(requests, Collections.singletonList("200 null"));
+    }
+
+    @Test
+    public void testRelativeReferences() throws IOException {
+        String base = url.substring(0, url.lastIndexOf('/'));
+        serve("/refs/spec.json", "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Refs\", \"version\": \"1.0\"},"
+                + " \"paths\": {\"/pets\": {\"get\": {\"responses\": {\"200\": {\"description\": \"pet\","
+                + " \"schema\": {\"$ref\": \"./definitions.json#/Pet\"}}}}}}}");
+        serve("/refs/definitions.json", "{\"Pet\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}");
+
+        Swagger swagger = new SpecCache(10, 60000).read(base + "/refs/spec.json", null);
+        assertEquals(swagger.getInfo().getTitle(), "Refs");
+        assertTrue(swagger.getDefinitions().get("Pet").getProperties().containsKey("name"));
+        assertEquals(requests, Arrays.asList("200 /refs/spec.json", "200 /refs/definitions.json"));
+    }
+
+    @Test
+    public void testAuthorization() {
+        SpecCache cache = new SpecCache(10, 60000);
+        cache.read(url, Collections.singletonList(new AuthorizationValue("X-Api-Key", "one", "header")));
+        cache.read(url, Collections.singletonList(new AuthorizationValue("X-Api-Key", "two", "header")));
+        assertTrue(requests.contains("200 one"), requests.toString());
+        assertTrue(requests.contains("200 two"), requests.toString());
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getHitCount(), 0L);
+    }
+
+    @Test
+    public void testCopies() throws Exception {
+        JsonNode node = new ObjectMapper().readTree(spec);
+        SpecCache cache = new SpecCache(10, 60000);
+        Swagger swagger = cache.read(node, null);
+        Swagger expected = cache.read(node, null);
+        assertNotSame(swagger, expected);
+        assertEquals(expected, new SwaggerParser().read(node, true));
+
+        // a generation changes the spec
+        new InlineModelResolver().flatten(swagger);
+        swagger.getDefinitions().remove("Pet");
+        Swagger copy = cache.read(node, null);
+        assertEquals(copy, expected);
+        assertTrue(copy.getDefinitions().containsKey("Pet"));
+        assertEquals(cache.getHitCount(), 2L);
+    }
+
+    @Test
+    public void testLocalFiles() throws IOException {
+        File folder = Files.createTempDirectory("spec-cache").toFile();
+        try {
+            File file = new File(folder, "petstore.json");
+            FileUtils.writeByteArrayToFile(file, spec);
+            SpecCache cache = new SpecCache(10, 60000);
+            Swagger swagger = cache.read(file.getPath(), null);
+            assertEquals(swagger.getInfo().getTitle(), "Swagger Petstore");
+            assertEquals(cache.read(file.getPath(), null), swagger);
+            assertEquals(cache.getHitCount(), 1L);
+
+            // changed
+            FileUtils.writeStringToFile(file, new String(spec, StandardCharsets.UTF_8)
+                    .replace("Swagger Petstore", "Changed Petstore"), StandardCharsets.UTF_8);
+            assertEquals(cache.read(file.getPath(), null).getInfo().getTitle(), "Changed Petstore");
+            assertEquals(cache.getMissCount(), 2L);
+
+            // a change of a referenced file would not be detected
+            File refs = new File(folder, "refs.json");
+            FileUtils.writeStringToFile(refs, "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Refs\", \"version\": \"1.0\"},"
+                    + " \"paths\": {\"/pets\": {\"get\": {\"responses\": {\"200\": {\"description\": \"pet\","
+                    + " \"schema\": {\"$ref\": \"./definitions.json#/Pet\"}}}}}}}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(folder, "definitions.json"),
+                    "{\"Pet\": {\"type\": \"object\"}}", StandardCharsets.UTF_8);
+            assertTrue(cache.read(refs.getPath(), null).getDefinitions().containsKey("Pet"));
+            assertEquals(cache.size(), 2);
+        } finally {
+            FileUtils.deleteDirectory(folder);
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        SpecCache cache = new SpecCache(0, 60000);
+        cache.read(url, null);
+        cache.read(url, null);
+        assertEquals(requests, Arrays.asList("200 null", "200 null"));
+        assertEquals(cache.size(), 0);
+    }
+}
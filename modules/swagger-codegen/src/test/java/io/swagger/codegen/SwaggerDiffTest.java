@@ -0,0 +1,83 @@
+package io.swagger.codegen;
+
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.testng.Assert.*;
+
+public class SwaggerDiffTest {
+    private static final String SPEC = "src/test/resources/2_0/petstore.json";
+
+    @Test
+    public void testUnchanged() {
+        SwaggerDiff diff = SwaggerDiff.compare(read(), read());
+        assertFalse(diff.isChanged());
+        assertTrue(diff.getModels().isEmpty());
+        assertTrue(diff.getTags().isEmpty());
+    }
+
+    @Test
+    public void testChangedModel() {
+        Swagger current = read();
+        ((ModelImpl) current.getDefinitions().get("Category")).property("description", new StringProperty());
+
+        SwaggerDiff diff = SwaggerDiff.compare(read(), current);
+        assertTrue(diff.isChanged());
+        assertFalse(diff.isGlobalChange());
+        // Pet has a Category, and the pet operations use Pet
+        assertEquals(diff.getModels(), new HashSet<String>(Arrays.asList("Category", "Pet")));
+        assertEquals(diff.getTags(), Collections.singleton("pet"));
+    }
+
+    @Test
+    public void testChangedPath() {
+        Swagger current = read();
+        current.path("/store/ping", new Path().get(new Operation().tag("store").operationId("ping")));
+        current.path("/ping", new Path().get(new Operation().operationId("ping")));
+
+        SwaggerDiff diff = SwaggerDiff.compare(read(), current);
+        assertFalse(diff.isGlobalChange());
+        assertTrue(diff.getModels().isEmpty());
+        assertEquals(diff.getTags(), new HashSet<String>(Arrays.asList("store", "default")));
+    }
+
+    @Test
+    public void testGlobalChange() {
+        Swagger current = read();
+        current.setBasePath("/v3");
+
+        SwaggerDiff diff = SwaggerDiff.compare(read(), current);
+        assertTrue(diff.isChanged());
+        assertTrue(diff.isGlobalChange());
+        assertTrue(diff.getModels().isEmpty());
+    }
+
+    @Test
+    public void testChangedChildModel() {
+        String spec = "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Pets\", \"version\": \"1.0\"}, \"paths\": {},"
+                + " \"definitions\": {\"Animal\": {\"type\": \"object\", \"discriminator\": \"kind\", \"properties\": {\"kind\": {\"type\": \"string\"}}},"
+                + " \"Dog\": {\"allOf\": [{\"$ref\": \"#/definitions/Animal\"}, {\"type\": \"object\", \"properties\": {\"%s\": {\"type\": \"string\"}}}]},"
+                + " \"Cat\": {\"allOf\": [{\"$ref\": \"#/definitions/Animal\"}]}}}";
+        Swagger previous = new SwaggerParser().parse(String.format(spec, "bark"));
+        Swagger current = new SwaggerParser().parse(String.format(spec, "woof"));
+
+        // the parent may list its children, the other children do not change
+        SwaggerDiff diff = SwaggerDiff.compare(previous, current);
+        assertEquals(diff.getModels(), new HashSet<String>(Arrays.asList("Dog", "Animal")));
+    }
+
+    private static Swagger read() {
+        Swagger swagger = new SwaggerParser().read(SPEC);
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+}
@@ -0,0 +1,137 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Escapers;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class TemplateCacheTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testTemplatesAreCompiledOnceAcrossRuns() throws Exception {
+        TemplateCache cache = new TemplateCache();
+
+        generate(cache);
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+        assertTrue(misses > 0);
+        assertTrue(hits > 0, "model and api templates should be reused within a run");
+
+        generate(cache);
+        assertEquals(cache.getMissCount(), misses, "second run should not compile any template");
+        assertTrue(cache.getHitCount() > hits);
+    }
+
+    @Test
+    public void testCompilerSettingsArePartOfTheKey() {
+        TemplateCache cache = new TemplateCache();
+        TemplateCache.SourceLoader loader = new TemplateCache.SourceLoader() {
+            @Override
+            public String load(String templateFile) {
+                return "{{value}}";
+            }
+        };
+        Map<String, String> data = new HashMap<String, String>();
+        data.put("value", "<a>");
+
+        Template escaped = cache.getTemplate("t.mustache", "ctx", Mustache.compiler(), loader);
+        Template unescaped = cache.getTemplate("t.mustache", "ctx", Mustache.compiler().withEscaper(Escapers.NONE), loader);
+        assertSame(cache.getTemplate("t.mustache", "ctx", Mustache.compiler(), loader), escaped);
+
+        assertEquals(escaped.execute(data), "&lt;a&gt;");
+        assertEquals(unescaped.execute(data), "<a>");
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getHitCount(), 1);
+
+        cache.invalidate("t.mustache");
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testCustomTemplatesAreRevalidated() throws Exception {
+        TemplateCache cache = new TemplateCache();
+        File templateDir = folder.newFolder("templates");
+        FileUtils.writeStringToFile(new File(templateDir, "model.mustache"),
+                "{{#models}}{{#model}}{{>modelName}}{{/model}}{{/models}}");
+        File partial = new File(templateDir, "modelName.mustache");
+        FileUtils.writeStringToFile(partial, "v1 {{classname}}");
+        File pet = new File(folder.getRoot(), "src/main/java/io/swagger/client/model/Pet.java");
+
+        generate(cache, templateDir.getAbsolutePath());
+        assertEquals(FileUtils.readFileToString(pet), "v1 Pet");
+
+        generate(cache, templateDir.getAbsolutePath());
+        assertFalse(cache.revalidate(templateDir.getAbsolutePath()));
+
+        // an edited partial is picked up by the next run
+        FileUtils.writeStringToFile(partial, "version 2 {{classname}}");
+        partial.setLastModified(partial.lastModified() + 2000);
+        generate(cache, templateDir.getAbsolutePath());
+        assertEquals(FileUtils.readFileToString(pet), "version 2 Pet");
+    }
+
+    @Test
+    public void testCachedTemplatesDoNotHoldTheRun() throws Exception {
+        TemplateCache cache = new TemplateCache();
+        generate(cache);
+
+        Field templatesField = TemplateCache.class.getDeclaredField("templates");
+        templatesField.setAccessible(true);
+        Field compilerField = Template.class.getDeclaredField("_compiler");
+        compilerField.setAccessible(true);
+        Map<?, ?> templates = (Map<?, ?>) templatesField.get(cache);
+        assertFalse(templates.isEmpty());
+        for (Object template : templates.values()) {
+            Mustache.TemplateLoader loader = ((Mustache.Compiler) compilerField.get(template)).loader;
+            for (Class<?> type = loader.getClass(); type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    assertFalse(DefaultGenerator.class.isAssignableFrom(field.getType())
+                            || CodegenConfig.class.isAssignableFrom(field.getType())
+                            || Swagger.class.isAssignableFrom(field.getType()), field.toString());
+                }
+            }
+        }
+    }
+
+    private void generate(TemplateCache cache) {
+        generate(cache, null);
+    }
+
+    private void generate(TemplateCache cache, String templateDir) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(folder.getRoot().getAbsolutePath());
+        if (templateDir != null) {
+            codegenConfig.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir);
+        }
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        new DefaultGenerator().templateCache(cache).opts(clientOptInput).generate();
+    }
+}
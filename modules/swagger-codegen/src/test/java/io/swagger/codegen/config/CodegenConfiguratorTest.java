@@ -4,6 +4,7 @@ import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GenerationOptions;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.codegen.languages.JavaClientCodegen;
 import io.swagger.models.Swagger;
@@ -19,11 +20,14 @@ import org.apache.commons.lang3.SerializationUtils;
 import org.testng.annotations.Test;
 
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("static-method")
@@ -53,18 +57,29 @@ public class CodegenConfiguratorTest {
 
         configurator.setVerbose(true);
 
-        new StrictExpectations(System.class) {{
-            System.setProperty("debugSwagger", "");
-            times = 1;
-            System.setProperty("debugModels", "");
-            times = 1;
-            System.setProperty("debugOperations", "");
-            times = 1;
-            System.setProperty("debugSupportingFiles", "");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        // the debug options only apply to this run
+        final GenerationOptions options = clientOptInput.getGenerationOptions();
+        assertTrue(options.isDebugSwagger());
+        assertTrue(options.isDebugModels());
+        assertTrue(options.isDebugOperations());
+        assertTrue(options.isDebugSupportingFiles());
+        assertFalse(configurator.getGenerationOptions().setUseSystemProperties(false).isDebugModels());
+    }
+
+    @Test
+    public void testGenerationOptionsFromSystemProperties() throws Exception {
+
+        configurator.addSystemProperty("models", "Pet,Tag")
+                .addSystemProperty("apiTests", "false");
+
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
+
+        final GenerationOptions options = clientOptInput.getGenerationOptions();
+        assertEquals(options.getModels(), new HashSet<String>(Arrays.asList("Pet", "Tag")));
+        assertFalse(options.isApiTests());
+        assertNull(System.getProperty("models"));
     }
 
     @Test
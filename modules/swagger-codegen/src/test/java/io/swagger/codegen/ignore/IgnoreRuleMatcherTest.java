@@ -0,0 +1,91 @@
+package io.swagger.codegen.ignore;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class IgnoreRuleMatcherTest {
+    private static final String RULES = "# generated files we maintain by hand\n"
+            + "build.sh\n"
+            + "*.sh\n"
+            + "/README.md\n"
+            + "**/build.gradle\n"
+            + "**/gradle/wrapper\n"
+            + "docs/**\n"
+            + "docs/**/Users/\n"
+            + "src/main/\n"
+            + "**/*.{java,md}\n"
+            + "**/*[0-9]*\n"
+            + "/*.txt\n"
+            + "**/improperly\\ escaped.txt\n"
+            + "!docs/UserApi.md\n"
+            + "!src/main/keep/\n"
+            + "!**/Keep.java\n"
+            + "!/*.cfg\n";
+
+    private static final List<String> PATHS = Arrays.asList(
+            "build.sh", "Build.sh", "scripts/build.sh", "README.md", "nested/README.md", "notes.txt", "nested/notes.txt",
+            "build.gradle", "app/build.gradle", "app/build.gradle.kts", "gradle/wrapper", "app/gradle/wrapper",
+            "app/gradle/wrapper/gradle-wrapper.jar", "docs", "docs/UserApi.md", "docs/PetApi.md", "docs/1/Users/UserApi.md",
+            "docs/1/Users1/a", "src/main", "src/main/java/Pet.java", "src/main/keep/Keep.java", "src/test/Keep.java",
+            "src/test/Pet.java", "src/test/Pet99.kt", "lib/improperly escaped.txt", "setup.cfg", "conf/setup.cfg",
+            "src//main/Pet.kt", "docs/", "pom.xml", "src/test/Pet.kt");
+
+    private File directory;
+    private CodegenIgnoreProcessor processor;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+        FileUtils.writeStringToFile(new File(directory, ".swagger-codegen-ignore"), RULES, StandardCharsets.UTF_8);
+        processor = new CodegenIgnoreProcessor(directory.getAbsolutePath());
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testSameResultAsRulesInOrder() {
+        for (String path : PATHS) {
+            assertEquals(processor.allowsPath(path), processor.allowsPathInOrder(path), path);
+        }
+    }
+
+    @Test
+    public void testNegationAndDirectoryExclusion() {
+        assertFalse(processor.allowsPath("app/build.gradle"));
+        assertTrue(processor.allowsPath("app/build.gradle.kts"));
+        assertFalse(processor.allowsPath("app/gradle/wrapper"));
+        assertFalse(processor.allowsPath("docs/PetApi.md"));
+        assertTrue(processor.allowsPath("docs/UserApi.md"));
+        // a file in an excluded directory can only be included again by a directory rule
+        assertFalse(processor.allowsPath("docs/1/Users/UserApi.md"));
+        assertFalse(processor.allowsPath("src/main/java/Pet.java"));
+        assertTrue(processor.allowsPath("src/main/keep/Keep.java"));
+        assertTrue(processor.allowsPath("src/test/Keep.java"));
+        assertTrue(processor.allowsPath("setup.cfg"));
+        assertTrue(processor.allowsPath("pom.xml"));
+    }
+
+    @Test
+    public void testAllowedFiles() {
+        List<File> files = Arrays.asList(
+                new File(directory, "pom.xml"),
+                new File(directory, "docs/PetApi.md"),
+                new File(directory, "docs/UserApi.md"),
+                new File(directory, "build.sh"));
+        assertEquals(processor.allowedFiles(files), Arrays.asList(files.get(0), files.get(2)));
+    }
+}
@@ -0,0 +1,54 @@
+package io.swagger.codegen.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PositionUtilsTest {
+
+    @Test
+    public void setHasMoreTest() {
+        List<Map<String, Object>> items = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 3; i++) {
+            items.add(new HashMap<String, Object>());
+        }
+        PositionUtils.setHasMore(items);
+        assertEquals(items.get(0).get(PositionUtils.HAS_MORE), "true");
+        assertEquals(items.get(1).get(PositionUtils.HAS_MORE), "true");
+        assertTrue(items.get(2).containsKey(PositionUtils.HAS_MORE));
+        assertNull(items.get(2).get(PositionUtils.HAS_MORE));
+
+        PositionUtils.setHasMore(Collections.<Map<String, String>>emptyList());
+        PositionUtils.setHasMore(null);
+    }
+
+    @Test
+    public void forEachPositionTest() {
+        final StringBuilder visited = new StringBuilder();
+        PositionUtils.forEachPosition(Arrays.asList("a", "b", "c"), new PositionUtils.Visitor<String>() {
+            @Override
+            public void visit(String item, int index, boolean first, boolean last) {
+                visited.append(index).append(item).append(first ? "F" : "").append(last ? "L" : "").append(' ');
+            }
+        });
+        assertEquals(visited.toString(), "0aF 1b 2cL ");
+
+        visited.setLength(0);
+        PositionUtils.forEachPosition(Collections.singletonList("x"), new PositionUtils.Visitor<String>() {
+            @Override
+            public void visit(String item, int index, boolean first, boolean last) {
+                visited.append(item).append(first ? "F" : "").append(last ? "L" : "");
+            }
+        });
+        assertEquals(visited.toString(), "xFL");
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.swagger.generator;
 
+import io.swagger.generator.online.DownloadRegistry;
+import io.swagger.generator.online.GenerationQueue;
 import org.apache.commons.io.IOUtils;
 
 import javax.servlet.ServletConfig;
@@ -53,4 +55,10 @@ public class Bootstrap extends HttpServlet {
         bc.setResourcePackage("io.swagger.generator.resource");
         bc.setScan(true);
     }
+
+    @Override
+    public void destroy() {
+        GenerationQueue.shutdownShared();
+        DownloadRegistry.shutdownShared();
+    }
 }
@@ -0,0 +1,11 @@
+package io.swagger.generator.exception;
+
+import org.apache.http.HttpStatus;
+
+public class ServiceUnavailableException extends ApiException {
+    private static final long serialVersionUID = 4409518530651829413L;
+
+    public ServiceUnavailableException(String msg) {
+        super(HttpStatus.SC_SERVICE_UNAVAILABLE, msg);
+    }
+}
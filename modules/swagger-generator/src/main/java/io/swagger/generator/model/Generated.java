@@ -16,9 +16,13 @@
 
 package io.swagger.generator.model;
 
+import java.util.SortedMap;
+
 public class Generated {
     private String filename;
     private String friendlyName;
+    private String folder;
+    private SortedMap<String, byte[]> files;
 
     public String getFilename() {
         return filename;
@@ -35,4 +39,26 @@ public class Generated {
     public void setFriendlyName(String friendlyName) {
         this.friendlyName = friendlyName;
     }
+
+    /**
+     * @return name of the folder of the files in the archive
+     */
+    public String getFolder() {
+        return folder;
+    }
+
+    public void setFolder(String folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * @return contents of the generated files, by path in the folder
+     */
+    public SortedMap<String, byte[]> getFiles() {
+        return files;
+    }
+
+    public void setFiles(SortedMap<String, byte[]> files) {
+        this.files = files;
+    }
 }
@@ -0,0 +1,95 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class JobStatus {
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED, CANCELLED, TIMED_OUT;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private String id;
+    private String language;
+    private State state;
+    private Long submitted;
+    private Long started;
+    private Long finished;
+    private String error;
+    private String link;
+
+    @ApiModelProperty(value = "Job id", example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "Target language or framework")
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    @ApiModelProperty(value = "State of the job")
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    @ApiModelProperty(value = "Time the job was submitted, in milliseconds since the epoch")
+    public Long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(Long submitted) {
+        this.submitted = submitted;
+    }
+
+    @ApiModelProperty(value = "Time the job started to run, in milliseconds since the epoch")
+    public Long getStarted() {
+        return started;
+    }
+
+    public void setStarted(Long started) {
+        this.started = started;
+    }
+
+    @ApiModelProperty(value = "Time the job finished, in milliseconds since the epoch")
+    public Long getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+
+    @ApiModelProperty(value = "Why the job failed")
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @ApiModelProperty(value = "URL for fetching the generated files, once the job is done",
+            example = "http://generator.swagger.io:80/api/gen/jobs/d40029be-eda6-4d62-b1ef-d05e2e91a72a/result")
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+}
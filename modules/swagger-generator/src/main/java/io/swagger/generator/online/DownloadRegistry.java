@@ -0,0 +1,193 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generated results waiting to be downloaded, by download code. A result is downloaded once, and
+ * expires after the time to live if it is not downloaded; a reaper removes expired results in the
+ * background.
+ * <p>
+ * New results are rejected when the registry holds the maximum number of results, or the maximum
+ * total size of files in memory. The shared registry is configured with the
+ * environment variables <code>GENERATOR_DOWNLOAD_TTL</code> (600 seconds),
+ * <code>GENERATOR_DOWNLOAD_MAX_ENTRIES</code> (1000) and <code>GENERATOR_DOWNLOAD_MAX_SIZE</code>
+ * (in megabytes, 512).
+ */
+public class DownloadRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadRegistry.class);
+    private static DownloadRegistry shared;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final ScheduledExecutorService reaper;
+
+    private final AtomicLong memoryBytes = new AtomicLong();
+    private final AtomicLong registered = new AtomicLong();
+    private final AtomicLong downloaded = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public DownloadRegistry(int maxEntries, long maxBytes, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.reaper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "generator-download-reaper");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long period = Math.max(1, Math.min(ttlMillis, TimeUnit.MINUTES.toMillis(1)));
+        reaper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    removeExpired();
+                } catch (RuntimeException e) {
+                    LOGGER.error("unable to remove expired downloads", e);
+                }
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized DownloadRegistry getShared() {
+        if (shared == null) {
+            shared = new DownloadRegistry((int) getenv("GENERATOR_DOWNLOAD_MAX_ENTRIES", 1000),
+                    getenv("GENERATOR_DOWNLOAD_MAX_SIZE", 512) * 1024 * 1024,
+                    TimeUnit.SECONDS.toMillis(getenv("GENERATOR_DOWNLOAD_TTL", 600)));
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the reaper of the shared registry, if it was started.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    /**
+     * @param generated files in memory of a result
+     * @return the code to download the result with
+     * @throws ServiceUnavailableException if the registry is full
+     */
+    public synchronized String register(Generated generated) throws ServiceUnavailableException {
+        removeExpired();
+        Entry entry = new Entry(generated, System.currentTimeMillis() + ttlMillis);
+        if (entries.size() >= maxEntries || memoryBytes.get() + entry.size > maxBytes) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many generated files are waiting to be downloaded, try again later");
+        }
+        String code = UUID.randomUUID().toString();
+        entries.put(code, entry);
+        memoryBytes.addAndGet(entry.size);
+        registered.incrementAndGet();
+        return code;
+    }
+
+    /**
+     * Remove a result to download it.
+     *
+     * @return the result, or null if there is no such result or it has expired
+     */
+    public Generated remove(String code) {
+        Entry entry = entries.remove(code);
+        if (entry == null) {
+            return null;
+        }
+        memoryBytes.addAndGet(-entry.size);
+        if (entry.expires < System.currentTimeMillis()) {
+            expired.incrementAndGet();
+            return null;
+        }
+        downloaded.incrementAndGet();
+        return entry.generated;
+    }
+
+    /**
+     * @return number of results waiting to be downloaded, bytes in memory, and the
+     * numbers of registered, downloaded, expired and rejected results
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+        metrics.put("entries", entries.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("memoryBytes", memoryBytes.get());
+        metrics.put("maxBytes", maxBytes);
+        metrics.put("ttlSeconds", TimeUnit.MILLISECONDS.toSeconds(ttlMillis));
+        metrics.put("registered", registered.get());
+        metrics.put("downloaded", downloaded.get());
+        metrics.put("expired", expired.get());
+        metrics.put("rejected", rejected.get());
+        return metrics;
+    }
+
+    public void shutdown() {
+        reaper.shutdownNow();
+    }
+
+    void removeExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            // a concurrent download may have removed it already
+            if (entry.getValue().expires < now && entries.remove(entry.getKey(), entry.getValue())) {
+                memoryBytes.addAndGet(-entry.getValue().size);
+                expired.incrementAndGet();
+            }
+        }
+    }
+
+    private static long getenv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be a number: " + value, e);
+        }
+    }
+
+    private static class Entry {
+        private final Generated generated;
+        private final long size;
+        private final long expires;
+
+        Entry(Generated generated, long expires) {
+            this.generated = generated;
+            this.size = size(generated.getFiles());
+            this.expires = expires;
+        }
+
+        private static long size(Map<String, byte[]> files) {
+            long size = 0;
+            if (files != null) {
+                for (byte[] contents : files.values()) {
+                    size += contents.length;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.exception.ApiException;
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
+import io.swagger.generator.model.JobStatus.State;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs generations in a bounded pool of workers, off the request threads.
+ * <p>
+ * A job is queued when all workers are busy, and rejected when the queue is full. A job that runs
+ * longer than the timeout is marked as timed out and its worker is interrupted; a generation does
+ * not check for interruption, so the worker stays busy until the generation ends, and its files
+ * are then deleted. The results of finished jobs are kept for the retention time, then the timer
+ * removes them in the background and deletes their files.
+ * <p>
+ * The shared queue is configured with the environment variables <code>GENERATOR_WORKERS</code>
+ * (number of processors by default), <code>GENERATOR_QUEUE_SIZE</code> (100),
+ * <code>GENERATOR_JOB_TIMEOUT</code> (300 seconds) and <code>GENERATOR_JOB_RETENTION</code>
+ * (3600 seconds).
+ */
+public class GenerationQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationQueue.class);
+    private static GenerationQueue shared;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService timer;
+    private final int queueSize;
+    private final long timeoutMillis;
+    private final long retentionMillis;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<String, Job>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Map<State, AtomicLong> finished = new EnumMap<State, AtomicLong>(State.class);
+    private final Timing waitTime = new Timing();
+    private final Timing runTime = new Timing();
+
+    public GenerationQueue(int workers, int queueSize, long timeoutMillis, long retentionMillis) {
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), daemonThreads("generator-job-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("generator-job-timeout-"));
+        this.queueSize = queueSize;
+        this.timeoutMillis = timeoutMillis;
+        this.retentionMillis = retentionMillis;
+        for (State state : State.values()) {
+            if (state.isFinished()) {
+                finished.put(state, new AtomicLong());
+            }
+        }
+        long period = Math.max(1, Math.min(retentionMillis, TimeUnit.MINUTES.toMillis(1)));
+        timer.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    removeExpired();
+                } catch (RuntimeException e) {
+                    LOGGER.error("unable to remove expired jobs", e);
+                }
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized GenerationQueue getShared() {
+        if (shared == null) {
+            shared = new GenerationQueue(getenv("GENERATOR_WORKERS", Runtime.getRuntime().availableProcessors()),
+                    getenv("GENERATOR_QUEUE_SIZE", 100),
+                    TimeUnit.SECONDS.toMillis(getenv("GENERATOR_JOB_TIMEOUT", 300)),
+                    TimeUnit.SECONDS.toMillis(getenv("GENERATOR_JOB_RETENTION", 3600)));
+        }
+        return shared;
+    }
+
+    /**
+     * Stop the shared queue, if it was started.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    public JobStatus submit(final String language, final GeneratorInput opts, final Generator.Type type) throws ApiException {
+        return submit(language, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return type == Generator.Type.SERVER
+                        ? Generator.generateServer(language, opts) : Generator.generateClient(language, opts);
+            }
+        });
+    }
+
+    /**
+     * @param language target language, for the status
+     * @param generation generates, and returns the file of the result
+     * @return the status of the new job
+     * @throws ServiceUnavailableException if the queue is full
+     */
+    JobStatus submit(String language, Callable<String> generation) throws ServiceUnavailableException {
+        removeExpired();
+        Job job = new Job(UUID.randomUUID().toString(), language, generation);
+        jobs.put(job.id, job);
+        try {
+            job.future = workers.submit(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many generations are queued, try again later");
+        }
+        submitted.incrementAndGet();
+        return job.getStatus();
+    }
+
+    /**
+     * @return the status of the job, or null if there is no such job
+     */
+    public JobStatus getStatus(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.getStatus() : null;
+    }
+
+    /**
+     * @return the result of the job, or null if the job is not done
+     */
+    public File getResult(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.getResult() : null;
+    }
+
+    /**
+     * Cancel a job that is queued or running, or discard the result of a finished job.
+     *
+     * @return the status of the job, or null if there is no such job
+     */
+    public JobStatus cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (!job.finish(State.CANCELLED, null, null)) {
+            jobs.remove(id);
+            deleteResult(job.getResult());
+        } else if (job.future != null) {
+            job.future.cancel(true);
+            workers.purge();
+        }
+        return job.getStatus();
+    }
+
+    /**
+     * @return queue length, number of jobs by state, wait times in the queue and run times
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+        metrics.put("workers", workers.getMaximumPoolSize());
+        metrics.put("running", workers.getActiveCount());
+        metrics.put("queued", workers.getQueue().size());
+        metrics.put("queueSize", queueSize);
+        metrics.put("submitted", submitted.get());
+        metrics.put("rejected", rejected.get());
+        for (Map.Entry<State, AtomicLong> entry : finished.entrySet()) {
+            metrics.put(entry.getKey().name().toLowerCase(), entry.getValue().get());
+        }
+        metrics.put("retained", jobs.size());
+        metrics.put("waitTime", waitTime.toMap());
+        metrics.put("runTime", runTime.toMap());
+        return metrics;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private void removeExpired() {
+        long expired = System.currentTimeMillis() - retentionMillis;
+        for (Job job : jobs.values()) {
+            Long finishedAt = job.getStatus().getFinished();
+            // a concurrent cancel may have removed it already
+            if (finishedAt != null && finishedAt < expired && jobs.remove(job.id, job)) {
+                deleteResult(job.getResult());
+            }
+        }
+    }
+
+    private static void deleteResult(File result) {
+        if (result == null) {
+            return;
+        }
+        try {
+            // the temporary folder of the generation
+            FileUtils.deleteDirectory(result.getParentFile());
+        } catch (IOException e) {
+            LOGGER.error("unable to delete " + result.getParentFile(), e);
+        }
+    }
+
+    private static int getenv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be a number: " + value, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    private class Job implements Runnable {
+        private final String id;
+        private final String language;
+        private final Callable<String> generation;
+        private final long submittedAt = System.currentTimeMillis();
+        private volatile Future<?> future;
+        private State state = State.QUEUED;
+        private Long startedAt;
+        private Long finishedAt;
+        private String error;
+        private String filename;
+
+        Job(String id, String language, Callable<String> generation) {
+            this.id = id;
+            this.language = language;
+            this.generation = generation;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (state != State.QUEUED) {
+                    return;
+                }
+                state = State.RUNNING;
+                startedAt = System.currentTimeMillis();
+            }
+            waitTime.add(startedAt - submittedAt);
+            ScheduledFuture<?> timeout = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (finish(State.TIMED_OUT, "The generation took more than " + timeoutMillis + " ms", null)
+                            && future != null) {
+                        future.cancel(true);
+                    }
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                String result = generation.call();
+                if (!finish(State.DONE, null, result)) {
+                    // cancelled or timed out meanwhile
+                    deleteResult(new File(result));
+                }
+            } catch (ApiException e) {
+                finish(State.FAILED, e.getMessage(), null);
+            } catch (Exception e) {
+                LOGGER.error("generation " + id + " failed", e);
+                finish(State.FAILED, "Unable to build target: " + e.getMessage(), null);
+            } finally {
+                timeout.cancel(false);
+                runTime.add(System.currentTimeMillis() - startedAt);
+                // the interrupt of a cancellation must not leak to the next job
+                Thread.interrupted();
+            }
+        }
+
+        /**
+         * @return true if the job was not finished yet
+         */
+        synchronized boolean finish(State state, String error, String filename) {
+            if (this.state.isFinished()) {
+                return false;
+            }
+            this.state = state;
+            this.error = error;
+            this.filename = filename;
+            finishedAt = System.currentTimeMillis();
+            finished.get(state).incrementAndGet();
+            return true;
+        }
+
+        synchronized File getResult() {
+            return state == State.DONE && filename != null ? new File(filename) : null;
+        }
+
+        synchronized JobStatus getStatus() {
+            JobStatus status = new JobStatus();
+            status.setId(id);
+            status.setLanguage(language);
+            status.setState(state);
+            status.setSubmitted(submittedAt);
+            status.setStarted(startedAt);
+            status.setFinished(finishedAt);
+            status.setError(error);
+            return status;
+        }
+    }
+
+    private static class Timing {
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+
+        synchronized void add(long millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            map.put("count", count);
+            map.put("meanMillis", count > 0 ? totalMillis / count : 0);
+            map.put("maxMillis", maxMillis);
+            return map;
+        }
+    }
+}
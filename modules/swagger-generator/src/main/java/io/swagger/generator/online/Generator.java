@@ -4,24 +4,45 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.*;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
 import io.swagger.generator.util.ZipUtil;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.util.ArrayList;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class Generator {
     static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
+    private static SpecCache specCache;
+
+    /**
+     * @return the cache of parsed specs, configured with the environment variables
+     * <code>GENERATOR_SPEC_CACHE_SIZE</code> (number of specs, 100 by default, 0 disables the cache)
+     * and <code>GENERATOR_SPEC_CACHE_TTL</code> (600 seconds)
+     */
+    static synchronized SpecCache getSpecCache() {
+        if (specCache == null) {
+            specCache = new SpecCache((int) getenv("GENERATOR_SPEC_CACHE_SIZE", SpecCache.DEFAULT_MAX_ENTRIES),
+                    TimeUnit.SECONDS.toMillis(getenv("GENERATOR_SPEC_CACHE_TTL",
+                            TimeUnit.MILLISECONDS.toSeconds(SpecCache.DEFAULT_TTL_MILLIS))));
+        }
+        return specCache;
+    }
 
     public static Map<String, CliOption> getOptions(String language) throws ApiException {
         CodegenConfig config = null;
@@ -53,14 +74,32 @@ public class Generator {
     }
 
     public static String generateClient(String language, GeneratorInput opts) throws ApiException {
-        return generate(language, opts, Type.CLIENT);
+        return writeZip(generate(language, opts, Type.CLIENT));
     }
 
     public static String generateServer(String language, GeneratorInput opts) throws ApiException {
+        return writeZip(generate(language, opts, Type.SERVER));
+    }
+
+    /**
+     * Generate in memory, without writing files.
+     *
+     * @return the generated files
+     */
+    public static Generated generateClientFiles(String language, GeneratorInput opts) throws ApiException {
+        return generate(language, opts, Type.CLIENT);
+    }
+
+    /**
+     * Generate in memory, without writing files.
+     *
+     * @return the generated files
+     */
+    public static Generated generateServerFiles(String language, GeneratorInput opts) throws ApiException {
         return generate(language, opts, Type.SERVER);
     }
 
-    private static String generate(String language, GeneratorInput opts, Type type) throws ApiException {
+    private static Generated generate(String language, GeneratorInput opts, Type type) throws ApiException {
         LOGGER.debug(String.format("generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new BadRequestException("No options were supplied");
@@ -70,33 +109,27 @@ public class Generator {
             LOGGER.debug("ignoring empty spec");
             node = null;
         }
-        Swagger swagger;
-        if (node == null) {
-            if (opts.getSwaggerUrl() != null) {
-                if(opts.getAuthorizationValue() != null) {
-                    List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
-                    authorizationValues.add(opts.getAuthorizationValue());
-
-                    swagger = new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues, true);
-                }
-                else {
-                    swagger = new SwaggerParser().read(opts.getSwaggerUrl());
-                }
-            } else {
-                throw new BadRequestException("No swagger specification was supplied");
-            }
-        } else if(opts.getAuthorizationValue() != null) {
-            List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
-            authorizationValues.add(opts.getAuthorizationValue());
-            swagger = new SwaggerParser().read(node, authorizationValues, true);
+        if (node == null && opts.getSwaggerUrl() == null) {
+            throw new BadRequestException("No swagger specification was supplied");
         }
-        else {
-            swagger = new SwaggerParser().read(node, true);
+        List<AuthorizationValue> authorizationValues = null;
+        if (opts.getAuthorizationValue() != null) {
+            authorizationValues = Collections.singletonList(opts.getAuthorizationValue());
         }
+        Swagger swagger = node != null ? getSpecCache().read(node, authorizationValues)
+                : getSpecCache().read(opts.getSwaggerUrl(), authorizationValues);
         if (swagger == null) {
             throw new BadRequestException("The swagger specification supplied was not valid");
         }
 
+        // before the generation changes the spec
+        String cacheKey = ResultCache.key(swagger, type, language, opts.getOptions());
+        Generated cached = ResultCache.getShared().get(cacheKey);
+        if (cached != null) {
+            LOGGER.debug("serving cached result " + cacheKey);
+            return cached;
+        }
+
         String destPath = null;
 
         if(opts != null && opts.getOptions() != null) {
@@ -109,12 +142,14 @@ public class Generator {
 
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
+        // only names the files, nothing is written to it
+        File outputFolder = new File(new File(System.getProperty("java.io.tmpdir"), "codegen-" + UUID.randomUUID()), destPath);
 
+        // System properties are shared by all requests
         clientOptInput
                 .opts(clientOpts)
-                .swagger(swagger);
+                .swagger(swagger)
+                .generationOptions(new GenerationOptions().setUseSystemProperties(false));
 
         CodegenConfig codegenConfig=null;
         try {
@@ -128,38 +163,42 @@ public class Generator {
             codegenConfig.additionalProperties().put("swagger", swagger);
         }
 
-        codegenConfig.setOutputDir(outputFolder);
+        codegenConfig.setOutputDir(outputFolder.getAbsolutePath());
 
         LOGGER.debug(Json.pretty(clientOpts));
 
         clientOptInput.setConfig(codegenConfig);
 
+        InMemoryOutputSink sink = new InMemoryOutputSink(outputFolder);
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
-                throw new BadRequestException("A target generation was attempted, but no files were created!");
-            }
-            for(File file: files) {
-                try {
-                    file.delete();
-                }
-                catch(Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
+            Codegen codegen = new Codegen();
+            codegen.setOutputSink(sink);
+            codegen.opts(clientOptInput).generate();
+        } catch (Exception e) {
+            throw new BadRequestException("Unable to build target: " + e.getMessage());
+        }
+        if (sink.getFiles().isEmpty()) {
+            throw new BadRequestException("Unable to build target: A target generation was attempted, but no files were created!");
+        }
+        LOGGER.debug("generated " + sink.getFiles().size() + " files, " + sink.getTotalBytes() + " bytes");
+
+        Generated generated = new Generated();
+        generated.setFolder(outputFolder.getName());
+        generated.setFiles(sink.getFiles());
+        ResultCache.getShared().put(cacheKey, generated, sink.getTotalBytes());
+        return generated;
+    }
+
+    private static String writeZip(Generated generated) throws ApiException {
+        String outputFilename = getTmpFolder().getAbsolutePath() + File.separator + generated.getFolder() + "-bundle.zip";
+        try {
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFilename));
             try {
-                new File(outputFolder).delete();
+                new ZipUtil().compressFiles(generated.getFolder(), generated.getFiles(), out);
+            } finally {
+                out.close();
             }
-            catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
-            }
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new BadRequestException("Unable to build target: " + e.getMessage());
         }
         return outputFilename;
@@ -185,4 +224,16 @@ public class Generator {
             return null;
         }
     }
+
+    private static long getenv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be a number: " + value, e);
+        }
+    }
 }
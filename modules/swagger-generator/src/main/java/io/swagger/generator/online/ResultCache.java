@@ -0,0 +1,193 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.codegen.GenerationManifest;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.generator.model.Generated;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated files by hash of their inputs: the spec, the target language, the options and the
+ * version of the generator. Repeated requests are served from the cache instead of generating
+ * again.
+ * <p>
+ * The least recently used results are evicted when the total size of the files exceeds the maximum
+ * size, and results expire after the time to live. The shared cache is configured with the
+ * environment variables <code>GENERATOR_CACHE_SIZE</code> (in megabytes, 64 by default, 0 disables
+ * the cache) and <code>GENERATOR_CACHE_TTL</code> (3600 seconds).
+ */
+public class ResultCache {
+    private static final ObjectWriter CANONICAL_WRITER = Json.mapper().writer()
+            .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    private static ResultCache shared;
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ResultCache(long maxBytes, long ttlMillis) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public static synchronized ResultCache getShared() {
+        if (shared == null) {
+            shared = new ResultCache(getenv("GENERATOR_CACHE_SIZE", 64) * 1024 * 1024,
+                    TimeUnit.SECONDS.toMillis(getenv("GENERATOR_CACHE_TTL", 3600)));
+        }
+        return shared;
+    }
+
+    /**
+     * Compute the key of a generation. The spec must not have been changed by a generation yet.
+     *
+     * @param swagger the parsed spec
+     * @param type client or server
+     * @param language target language
+     * @param options generation options, may be null
+     * @return the key
+     */
+    public static String key(Swagger swagger, Generator.Type type, String language, Map<String, String> options) {
+        StringBuilder inputs = new StringBuilder();
+        inputs.append(ImplementationVersion.read()).append('\0')
+                .append(type.getTypeName()).append('\0')
+                .append(language).append('\0');
+        try {
+            inputs.append(CANONICAL_WRITER.writeValueAsString(options != null
+                    ? new TreeMap<String, String>(options) : Collections.<String, String>emptyMap())).append('\0')
+                    .append(CANONICAL_WRITER.writeValueAsString(swagger));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize the spec", e);
+        }
+        return GenerationManifest.sha256(inputs.toString());
+    }
+
+    /**
+     * @return a copy of the cached result, sharing its files, or null
+     */
+    public synchronized Generated get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        Generated generated = new Generated();
+        generated.setFolder(entry.folder);
+        generated.setFiles(entry.files);
+        return generated;
+    }
+
+    /**
+     * Cache a result, unless it is larger than the cache.
+     *
+     * @param key key of the generation
+     * @param generated files of the result, which must not be changed anymore
+     * @param size total size of the files
+     */
+    public synchronized void put(String key, Generated generated, long size) {
+        if (size > maxBytes) {
+            return;
+        }
+        remove(key);
+        removeExpired();
+        entries.put(key, new Entry(generated.getFolder(), generated.getFiles(), size,
+                System.currentTimeMillis() + ttlMillis));
+        bytes += size;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().getValue().size;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return hits, misses, hit ratio, number of results, bytes stored, evictions and expirations
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0d);
+        stats.put("entries", entries.size());
+        stats.put("bytes", bytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("ttlSeconds", TimeUnit.MILLISECONDS.toSeconds(ttlMillis));
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        return stats;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expires < now) {
+                iterator.remove();
+                bytes -= entry.size;
+                expirations++;
+            }
+        }
+    }
+
+    private static long getenv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be a number: " + value, e);
+        }
+    }
+
+    private static class Entry {
+        private final String folder;
+        private final SortedMap<String, byte[]> files;
+        private final long size;
+        private final long expires;
+
+        Entry(String folder, SortedMap<String, byte[]> files, long size, long expires) {
+            this.folder = folder;
+            this.files = files;
+            this.size = size;
+            this.expires = expires;
+        }
+    }
+}
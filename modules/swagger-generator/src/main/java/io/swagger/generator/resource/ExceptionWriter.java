@@ -3,6 +3,7 @@ package io.swagger.generator.resource;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.exception.NotFoundException;
+import io.swagger.generator.exception.ServiceUnavailableException;
 import io.swagger.generator.model.ApiResponse;
 import io.swagger.generator.util.ValidationException;
 
@@ -37,6 +38,11 @@ public class ExceptionWriter implements ExceptionMapper<Exception> {
                     .status(Status.BAD_REQUEST)
                     .entity(new ApiResponse(ApiResponse.ERROR, exception
                             .getMessage())).build();
+        } else if (exception instanceof ServiceUnavailableException) {
+            return Response
+                    .status(Status.SERVICE_UNAVAILABLE)
+                    .entity(new ApiResponse(ApiResponse.TOO_BUSY, exception
+                            .getMessage())).build();
         } else if (exception instanceof ApiException) {
             return Response
                     .status(Status.BAD_REQUEST)
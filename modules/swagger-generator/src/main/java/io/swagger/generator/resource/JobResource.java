@@ -0,0 +1,144 @@
+package io.swagger.generator.resource;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.NotFoundException;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
+import io.swagger.generator.online.GenerationQueue;
+import io.swagger.generator.online.Generator;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.File;
+import java.util.Map;
+
+@Path("/gen/jobs")
+@Api(value = "/gen/jobs", description = "Resource for generating swagger components in the background")
+@SuppressWarnings("static-method")
+public class JobResource {
+
+    @POST
+    @Path("/clients/{language}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Queues the generation of a client library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The " +
+                    "returned job can be polled with `/jobs/{jobId}`, and its result fetched once it is `DONE`.",
+            response = JobStatus.class,
+            tags = "jobs")
+    public Response submitClient(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") String language,
+            @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts) throws Exception {
+        JobStatus status = GenerationQueue.getShared().submit(language, opts, Generator.Type.CLIENT);
+        return Response.status(Response.Status.ACCEPTED).entity(withLink(request, status)).build();
+    }
+
+    @POST
+    @Path("/servers/{framework}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Queues the generation of a server library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The " +
+                    "returned job can be polled with `/jobs/{jobId}`, and its result fetched once it is `DONE`.",
+            response = JobStatus.class,
+            tags = "jobs")
+    public Response submitServer(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "framework", required = true) @PathParam("framework") String framework,
+            @ApiParam(value = "parameters", required = true) GeneratorInput opts) throws Exception {
+        if (framework == null) {
+            throw new BadRequestException("Framework is required");
+        }
+        JobStatus status = GenerationQueue.getShared().submit(framework, opts, Generator.Type.SERVER);
+        return Response.status(Response.Status.ACCEPTED).entity(withLink(request, status)).build();
+    }
+
+    @GET
+    @Path("/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the state of a generation job",
+            response = JobStatus.class,
+            tags = "jobs")
+    public Response getJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "Job id", required = true) @PathParam("jobId") String jobId) throws Exception {
+        return Response.ok().entity(withLink(request, getStatus(jobId))).build();
+    }
+
+    @GET
+    @Path("/{jobId}/result")
+    @Produces({MediaType.APPLICATION_OCTET_STREAM})
+    @ApiOperation(value = "Downloads the files generated by a job",
+            notes = "The result can be downloaded until it expires or the job is deleted.",
+            response = String.class,
+            tags = "jobs")
+    public Response getResult(
+            @ApiParam(value = "Job id", required = true) @PathParam("jobId") String jobId) throws Exception {
+        JobStatus status = getStatus(jobId);
+        File file = GenerationQueue.getShared().getResult(jobId);
+        if (file == null || !file.isFile()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(withLink(null, status))
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+        return Response.ok(file, "application/zip")
+                .header("Content-Disposition", "attachment; filename=\"" + status.getLanguage() + "-generated.zip\"")
+                .header("Content-Length", file.length())
+                .build();
+    }
+
+    @DELETE
+    @Path("/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Cancels a generation job, or deletes its result",
+            response = JobStatus.class,
+            tags = "jobs")
+    public Response cancelJob(
+            @ApiParam(value = "Job id", required = true) @PathParam("jobId") String jobId) throws Exception {
+        JobStatus status = GenerationQueue.getShared().cancel(jobId);
+        if (status == null) {
+            throw new NotFoundException("No job " + jobId);
+        }
+        return Response.ok().entity(status).build();
+    }
+
+    @GET
+    @Path("/metrics")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the queue length, and the wait and run times of the generation jobs",
+            response = Object.class,
+            responseContainer = "map",
+            tags = "jobs")
+    public Response getMetrics() {
+        Map<String, Object> metrics = GenerationQueue.getShared().getMetrics();
+        return Response.ok().entity(metrics).build();
+    }
+
+    private static JobStatus getStatus(String jobId) throws NotFoundException {
+        JobStatus status = GenerationQueue.getShared().getStatus(jobId);
+        if (status == null) {
+            throw new NotFoundException("No job " + jobId);
+        }
+        return status;
+    }
+
+    private static JobStatus withLink(HttpServletRequest request, JobStatus status) {
+        if (request != null && status.getState() == JobStatus.State.DONE) {
+            status.setLink(SwaggerResource.getHost(request) + "/api/gen/jobs/" + status.getId() + "/result");
+        }
+        return status;
+    }
+}
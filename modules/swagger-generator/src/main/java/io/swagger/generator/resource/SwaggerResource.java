@@ -4,15 +4,16 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.codegen.CliOption;
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.ResponseCode;
+import io.swagger.generator.online.DownloadRegistry;
 import io.swagger.generator.online.Generator;
-import org.apache.commons.io.FileUtils;
+import io.swagger.generator.online.ResultCache;
+import io.swagger.generator.util.ZipUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
@@ -20,7 +21,9 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import java.io.File;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
 @Path("/gen")
@@ -29,15 +32,13 @@ import java.util.*;
 public class SwaggerResource {
     static List<String> clients = new ArrayList<String>();
     static List<String> servers = new ArrayList<String>();
-    private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT) || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
+        for (CodegenConfigRegistry.Entry entry : CodegenConfigRegistry.getInstance().getEntries()) {
+            if (CodegenType.CLIENT.equals(entry.getType()) || CodegenType.DOCUMENTATION.equals(entry.getType())) {
+                clients.add(entry.getName());
+            } else if (CodegenType.SERVER.equals(entry.getType())) {
+                servers.add(entry.getName());
             }
         }
 
@@ -55,24 +56,19 @@ public class SwaggerResource {
             response = String.class,
             tags = {"clients", "servers"})
     public Response downloadFile(@PathParam("fileId") String fileId) throws Exception {
-        Generated g = fileMap.get(fileId);
+        final Generated g = DownloadRegistry.getShared().remove(fileId);
         System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-        if (g.getFilename() != null) {
-            File file = new java.io.File(g.getFilename());
-            byte[] bytes = org.apache.commons.io.FileUtils.readFileToByteArray(file);
-
-            try {
-                FileUtils.deleteDirectory(file.getParentFile());
-            }
-            catch (Exception e) {
-                System.out.println("failed to delete file " + file.getAbsolutePath());
-            }
-
-            return Response.ok(bytes, "application/zip")
+        if (g != null && g.getFiles() != null) {
+            // the archive is written to the response as it is compressed
+            StreamingOutput zip = new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException {
+                    new ZipUtil().compressFiles(g.getFolder(), g.getFiles(), output);
+                }
+            };
+
+            return Response.ok(zip, "application/zip")
                     .header("Content-Disposition", "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                    .header("Accept-Range", "bytes")
-                    .header("Content-Length", bytes.length)
                     .build();
         } else {
             return Response.status(404).build();
@@ -91,29 +87,13 @@ public class SwaggerResource {
             @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") String language,
             @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts) throws Exception {
 
-        String filename = Generator.generateClient(language, opts);
-        String host = System.getenv("GENERATOR_HOST");
+        Generated g = Generator.generateClientFiles(language, opts);
+        String host = getHost(request);
 
-        if(StringUtils.isBlank(host)) {
-            String scheme = request.getHeader("X-SSL");
-            String port = "";
-            if("1".equals(scheme)) {
-                scheme = "https";
-            }
-            else {
-                scheme = request.getScheme();
-                port = ":" + request.getServerPort();
-            }
-            host = scheme + "://" + request.getServerName() + port;
-        }
-
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
+        if (g != null) {
             g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+            String code = DownloadRegistry.getShared().register(g);
+            System.out.println(code + ", " + g.getFiles().size() + " files");
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
         } else {
@@ -165,6 +145,30 @@ public class SwaggerResource {
         }
     }
 
+    @GET
+    @Path("/cache")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the statistics of the cache of generated files",
+            notes = "Generating the same spec with the same language and options again is served from the cache.",
+            response = Object.class,
+            responseContainer = "map",
+            tags = {"clients", "servers"})
+    public Response cacheStats() {
+        return Response.ok().entity(ResultCache.getShared().getStats()).build();
+    }
+
+    @GET
+    @Path("/downloads")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the number and size of generated files waiting to be downloaded",
+            notes = "Files that are not downloaded expire, and new generations are rejected with 503 while too many are waiting.",
+            response = Object.class,
+            responseContainer = "map",
+            tags = {"clients", "servers"})
+    public Response downloadMetrics() {
+        return Response.ok().entity(DownloadRegistry.getShared().getMetrics()).build();
+    }
+
     @GET
     @Path("/clients")
     @ApiOperation(value = "Gets languages supported by the client generator",
@@ -203,22 +207,36 @@ public class SwaggerResource {
         if (framework == null) {
             throw new BadRequestException("Framework is required");
         }
-        String filename = Generator.generateServer(framework, opts);
-        System.out.println("generated name: " + filename);
+        Generated g = Generator.generateServerFiles(framework, opts);
 
         String host = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort();
 
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
+        if (g != null) {
             g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+            String code = DownloadRegistry.getShared().register(g);
+            System.out.println(code + ", " + g.getFiles().size() + " files");
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
         } else {
             return Response.status(500).build();
         }
     }
+
+    static String getHost(HttpServletRequest request) {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if(StringUtils.isBlank(host)) {
+            String scheme = request.getHeader("X-SSL");
+            String port = "";
+            if("1".equals(scheme)) {
+                scheme = "https";
+            }
+            else {
+                scheme = request.getScheme();
+                port = ":" + request.getServerPort();
+            }
+            host = scheme + "://" + request.getServerName() + port;
+        }
+        return host;
+    }
 }
@@ -22,7 +22,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -62,6 +64,28 @@ public class ZipUtil {
         zos.close();
     }
 
+    /**
+     * Compresses files held in memory to a stream, without closing the stream.
+     * @param folder The folder of the files in the zip
+     * @param files The contents of the files, by path in the folder
+     * @param out The stream to write the zip to
+     * @throws IOException if IO exception occurs
+     */
+    public void compressFiles(String folder, Map<String, byte[]> files, OutputStream out)
+            throws IOException {
+
+        ZipOutputStream zos = new ZipOutputStream(out);
+
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            zos.putNextEntry(new ZipEntry(folder + "/" + file.getKey()));
+            zos.write(file.getValue());
+            zos.closeEntry();
+        }
+
+        zos.finish();
+        zos.flush();
+    }
+
     /**
      * Adds a directory to the current zip output stream.
      * @param folder the directory to be  added
@@ -0,0 +1,91 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.model.Generated;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.testng.Assert.*;
+
+public class DownloadRegistryTest {
+    private DownloadRegistry registry;
+
+    @AfterMethod
+    public void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    public void testDownloadOnce() throws Exception {
+        registry = new DownloadRegistry(10, 100, 60000);
+        Generated generated = inMemory(10);
+        String code = registry.register(generated);
+        assertEquals(registry.getMetrics().get("entries"), 1);
+        assertEquals(registry.getMetrics().get("memoryBytes"), 10L);
+
+        assertSame(registry.remove(code), generated);
+        assertNull(registry.remove(code));
+        Map<String, Object> metrics = registry.getMetrics();
+        assertEquals(metrics.get("entries"), 0);
+        assertEquals(metrics.get("memoryBytes"), 0L);
+        assertEquals(metrics.get("registered"), 1L);
+        assertEquals(metrics.get("downloaded"), 1L);
+    }
+
+    @Test
+    public void testLimits() throws Exception {
+        registry = new DownloadRegistry(2, 100, 60000);
+        registry.register(inMemory(10));
+        registry.register(inMemory(10));
+        try {
+            registry.register(inMemory(10));
+            fail("the registry is full");
+        } catch (ServiceUnavailableException e) {
+            assertEquals(e.getCode(), 503);
+        }
+
+        registry = new DownloadRegistry(10, 100, 60000);
+        String code = registry.register(inMemory(60));
+        try {
+            registry.register(inMemory(60));
+            fail("the registry is too large");
+        } catch (ServiceUnavailableException e) {
+            assertEquals(registry.getMetrics().get("rejected"), 1L);
+        }
+        registry.remove(code);
+        registry.register(inMemory(60));
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        registry = new DownloadRegistry(10, 100, 50);
+        String code = registry.register(inMemory(20));
+        assertEquals(registry.getMetrics().get("memoryBytes"), 20L);
+
+        // removed by the reaper
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!registry.getMetrics().get("entries").equals(0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Map<String, Object> metrics = registry.getMetrics();
+        assertEquals(metrics.get("entries"), 0);
+        assertEquals(metrics.get("memoryBytes"), 0L);
+        assertEquals(metrics.get("expired"), 1L);
+        assertNull(registry.remove(code));
+    }
+
+    private static Generated inMemory(int size) {
+        SortedMap<String, byte[]> files = new TreeMap<String, byte[]>();
+        files.put("README.md", new byte[size]);
+        Generated generated = new Generated();
+        generated.setFolder("python-client");
+        generated.setFiles(files);
+        return generated;
+    }
+}
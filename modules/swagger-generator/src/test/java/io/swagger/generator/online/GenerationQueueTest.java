@@ -0,0 +1,143 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.ServiceUnavailableException;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
+import io.swagger.generator.model.JobStatus.State;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.*;
+
+public class GenerationQueueTest {
+    private CountDownLatch release;
+    private GenerationQueue queue;
+
+    @BeforeMethod
+    public void setUp() {
+        release = new CountDownLatch(1);
+        queue = new GenerationQueue(1, 1, 60000, 60000);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test(timeOut = 60000)
+    public void testGenerate() throws Exception {
+        GeneratorInput opts = new GeneratorInput();
+        opts.setSpec(new ObjectMapper().readTree(getClass().getClassLoader().getResource("petstore.json")));
+        JobStatus status = queue.submit("python", opts, Generator.Type.CLIENT);
+        assertNotNull(status.getId());
+
+        status = await(status.getId());
+        assertEquals(status.getState(), State.DONE, status.getError());
+        File result = queue.getResult(status.getId());
+        assertTrue(result.isFile());
+
+        // deleting a finished job deletes its result
+        queue.cancel(status.getId());
+        assertNull(queue.getStatus(status.getId()));
+        assertFalse(result.exists());
+    }
+
+    @Test(timeOut = 60000)
+    public void testRetention() throws Exception {
+        queue.shutdown();
+        queue = new GenerationQueue(1, 1, 60000, 50);
+        final File folder = Files.createTempDirectory("codegen-").toFile();
+        final File result = new File(folder, "python-client-bundle.zip");
+        FileUtils.writeByteArrayToFile(result, new byte[20]);
+        String id = queue.submit("python", new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return result.getAbsolutePath();
+            }
+        }).getId();
+        assertEquals(await(id).getState(), State.DONE);
+
+        // removed by the timer, without another submission
+        while (folder.exists()) {
+            Thread.sleep(20);
+        }
+        assertNull(queue.getStatus(id));
+        assertEquals(queue.getMetrics().get("retained"), 0);
+    }
+
+    @Test(timeOut = 60000)
+    public void testFailure() throws Exception {
+        JobStatus status = queue.submit("no-such-language", new GeneratorInput(), Generator.Type.CLIENT);
+        status = await(status.getId());
+        assertEquals(status.getState(), State.FAILED);
+        assertEquals(status.getError(), "No swagger specification was supplied");
+        assertNull(queue.getResult(status.getId()));
+    }
+
+    @Test(timeOut = 60000)
+    public void testQueueLimitAndCancel() throws Exception {
+        JobStatus running = queue.submit("running", blocked());
+        JobStatus queued = queue.submit("queued", blocked());
+        try {
+            queue.submit("rejected", blocked());
+            fail("the queue is full");
+        } catch (ServiceUnavailableException e) {
+            // expected
+        }
+        Map<String, Object> metrics = queue.getMetrics();
+        assertEquals(metrics.get("queued"), 1);
+        assertEquals(metrics.get("rejected"), 1L);
+
+        assertEquals(queue.cancel(queued.getId()).getState(), State.CANCELLED);
+        assertEquals(queue.getMetrics().get("queued"), 0);
+        assertEquals(queue.cancel(running.getId()).getState(), State.CANCELLED);
+        // the worker is free again
+        JobStatus next = queue.submit("next", new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new BadRequestException("bad spec");
+            }
+        });
+        assertEquals(await(next.getId()).getError(), "bad spec");
+        assertEquals(await(running.getId()).getState(), State.CANCELLED);
+    }
+
+    @Test(timeOut = 60000)
+    public void testTimeout() throws Exception {
+        queue.shutdown();
+        queue = new GenerationQueue(1, 1, 200, 60000);
+        JobStatus status = await(queue.submit("slow", blocked()).getId());
+        assertEquals(status.getState(), State.TIMED_OUT);
+        assertEquals(queue.getMetrics().get("timed_out"), 1L);
+    }
+
+    private JobStatus await(String id) throws InterruptedException {
+        JobStatus status = queue.getStatus(id);
+        while (!status.getState().isFinished()) {
+            Thread.sleep(50);
+            status = queue.getStatus(id);
+        }
+        return status;
+    }
+
+    private Callable<String> blocked() {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                release.await();
+                throw new IllegalStateException("released");
+            }
+        };
+    }
+}
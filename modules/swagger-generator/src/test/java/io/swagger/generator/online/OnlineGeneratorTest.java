@@ -0,0 +1,62 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.model.Generated;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.util.ZipUtil;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.testng.Assert.*;
+
+public class OnlineGeneratorTest {
+
+    @Test
+    public void testGenerateInMemory() throws Exception {
+        GeneratorInput opts = new GeneratorInput();
+        opts.setSpec(new ObjectMapper().readTree(getClass().getClassLoader().getResource("petstore.json")));
+
+        Generated generated = Generator.generateClientFiles("python", opts);
+        assertEquals(generated.getFolder(), "python-client");
+        assertTrue(generated.getFiles().containsKey("README.md"));
+        assertTrue(generated.getFiles().containsKey("swagger_client/models/pet.py"));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        new ZipUtil().compressFiles(generated.getFolder(), generated.getFiles(), zip);
+        Set<String> entries = entries(new ByteArrayInputStream(zip.toByteArray()));
+        assertEquals(entries.size(), generated.getFiles().size());
+        assertTrue(entries.contains("python-client/swagger_client/models/pet.py"), entries.toString());
+
+        // the same archive as a file
+        File file = new File(Generator.generateClient("python", opts));
+        try {
+            assertEquals(entries(new FileInputStream(file)), entries);
+        } finally {
+            FileUtils.deleteDirectory(file.getParentFile());
+        }
+    }
+
+    private static Set<String> entries(InputStream in) throws IOException {
+        Set<String> entries = new TreeSet<String>();
+        ZipInputStream zip = new ZipInputStream(in);
+        try {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+        } finally {
+            zip.close();
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,93 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.model.Generated;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.models.Info;
+import io.swagger.models.Swagger;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.testng.Assert.*;
+
+public class ResultCacheTest {
+
+    @Test
+    public void testKey() {
+        Swagger swagger = new Swagger().info(new Info().title("Cached").version("1.0"));
+        Map<String, String> options = Collections.singletonMap("packageName", "cached");
+        String key = ResultCache.key(swagger, Generator.Type.CLIENT, "python", options);
+
+        assertEquals(ResultCache.key(new Swagger().info(new Info().version("1.0").title("Cached")),
+                Generator.Type.CLIENT, "python", new TreeMap<String, String>(options)), key);
+        assertNotEquals(ResultCache.key(swagger, Generator.Type.SERVER, "python", options), key);
+        assertNotEquals(ResultCache.key(swagger, Generator.Type.CLIENT, "ruby", options), key);
+        assertNotEquals(ResultCache.key(swagger, Generator.Type.CLIENT, "python", null), key);
+        assertNotEquals(ResultCache.key(new Swagger().info(new Info().title("Cached").version("2.0")),
+                Generator.Type.CLIENT, "python", options), key);
+    }
+
+    @Test
+    public void testEviction() {
+        ResultCache cache = new ResultCache(10, 60000);
+        cache.put("a", generated("a"), 4);
+        cache.put("b", generated("b"), 4);
+        assertNotNull(cache.get("a"));
+        // b is the least recently used
+        cache.put("c", generated("c"), 4);
+        assertNull(cache.get("b"));
+        assertEquals(cache.get("a").getFolder(), "a");
+        assertEquals(cache.get("c").getFolder(), "c");
+        // larger than the cache
+        cache.put("d", generated("d"), 11);
+        assertNull(cache.get("d"));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(stats.get("entries"), 2);
+        assertEquals(stats.get("bytes"), 8L);
+        assertEquals(stats.get("evictions"), 1L);
+        assertEquals(stats.get("hits"), 3L);
+        assertEquals(stats.get("misses"), 2L);
+        assertEquals(stats.get("hitRatio"), 0.6);
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        ResultCache cache = new ResultCache(10, 50);
+        cache.put("a", generated("a"), 4);
+        assertNotNull(cache.get("a"));
+        Thread.sleep(100);
+        assertNull(cache.get("a"));
+        assertEquals(cache.getStats().get("expirations"), 1L);
+        assertEquals(cache.getStats().get("bytes"), 0L);
+    }
+
+    @Test
+    public void testGenerateFromCache() throws Exception {
+        GeneratorInput opts = new GeneratorInput();
+        opts.setSpec(new ObjectMapper().readTree(getClass().getClassLoader().getResource("petstore.json")));
+        opts.setOptions(Collections.singletonMap("packageName", "cached_" + UUID.randomUUID().toString().replace('-', '_')));
+
+        long hits = (Long) ResultCache.getShared().getStats().get("hits");
+        Generated generated = Generator.generateClientFiles("python", opts);
+        Generated cached = Generator.generateClientFiles("python", opts);
+        assertEquals(ResultCache.getShared().getStats().get("hits"), hits + 1);
+        assertSame(cached.getFiles(), generated.getFiles());
+        assertEquals(cached.getFolder(), generated.getFolder());
+        assertNotSame(cached, generated);
+    }
+
+    private static Generated generated(String folder) {
+        SortedMap<String, byte[]> files = new TreeMap<String, byte[]>();
+        files.put("README.md", new byte[4]);
+        Generated generated = new Generated();
+        generated.setFolder(folder);
+        generated.setFiles(files);
+        return generated;
+    }
+}